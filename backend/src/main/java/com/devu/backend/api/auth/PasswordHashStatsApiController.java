@@ -0,0 +1,31 @@
+package com.devu.backend.api.auth;
+
+import com.devu.backend.config.auth.PasswordHasher;
+import com.devu.backend.controller.ResponseErrorDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+//BCrypt 스레드 풀 처리량, 지연 시간, 거절 수 (관리자만, SecurityConfig)
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api")
+public class PasswordHashStatsApiController {
+
+    private final PasswordHasher passwordHasher;
+
+    @GetMapping("/auth/hash-stats")
+    public ResponseEntity<?> getHashStats() {
+        try {
+            return ResponseEntity.ok(passwordHasher.stats());
+        } catch (Exception e) {
+            e.printStackTrace();
+            ResponseErrorDto errorDto = ResponseErrorDto.builder()
+                    .error(e.getMessage())
+                    .build();
+            return ResponseEntity.badRequest().body(errorDto);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.devu.backend.api.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashStatsDto {
+    private long hashed;//완료된 해시,검증 수
+    private double averageMillis;
+    private double maxMillis;
+    private long rejected;//대기열 초과, timeout 으로 거절한 수
+    private long rehashed;//로그인 시 새 strength 로 다시 저장한 수
+    private int active;
+    private int queued;
+}
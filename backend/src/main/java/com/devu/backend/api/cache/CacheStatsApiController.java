@@ -0,0 +1,63 @@
+package com.devu.backend.api.cache;
+
+import com.devu.backend.config.HibernateCacheConfig;
+import com.devu.backend.controller.ResponseErrorDto;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+//2차 캐시 region 별 hit/miss (devu.l2-cache.statistics=false 면 모두 0), 관리자만 (SecurityConfig)
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api")
+public class CacheStatsApiController {
+
+    private static final String[] ENTITY_REGIONS = {
+            HibernateCacheConfig.USER_REGION,
+            HibernateCacheConfig.TAG_REGION,
+            HibernateCacheConfig.POSITION_REGION
+    };
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats() {
+        try {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            List<CacheStatsDto> stats = new ArrayList<>();
+            for (String region : ENTITY_REGIONS) {
+                CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+                stats.add(CacheStatsDto.builder()
+                        .region(region)
+                        .hit(regionStatistics.getHitCount())
+                        .miss(regionStatistics.getMissCount())
+                        .put(regionStatistics.getPutCount())
+                        .size(regionStatistics.getElementCountInMemory())
+                        .build());
+            }
+            stats.add(CacheStatsDto.builder()
+                    .region(HibernateCacheConfig.QUERY_REGION)
+                    .hit(statistics.getQueryCacheHitCount())
+                    .miss(statistics.getQueryCacheMissCount())
+                    .put(statistics.getQueryCachePutCount())
+                    .size(-1)
+                    .build());
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            e.printStackTrace();
+            ResponseErrorDto errorDto = ResponseErrorDto.builder()
+                    .error(e.getMessage())
+                    .build();
+            return ResponseEntity.badRequest().body(errorDto);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.devu.backend.api.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String region;
+    private long hit;
+    private long miss;
+    private long put;
+    private long size;//현재 메모리에 있는 항목 수, 알 수 없으면 -1
+}
@@ -7,15 +7,10 @@ import com.devu.backend.repository.comment.CommentRepository;
 import com.devu.backend.service.CommentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 
-import java.util.List;
-
-
 @Slf4j
 @RequiredArgsConstructor
 @RestController
@@ -25,6 +20,38 @@ public class CommentApiController {
     private final CommentService commentService;
     private final CommentRepository commentRepository;
 
+    //게시글 댓글 스레드 커서 페이징, cursor 가 없으면 첫 페이지
+    @GetMapping("/posts/{postId}/comments")
+    ResponseEntity<?> getComments(@PathVariable(name = "postId") Long postId,
+                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                  @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(commentService.findComments(postId, cursor, size));
+        } catch (Exception e) {
+            e.printStackTrace();
+            ResponseErrorDto errorDto = ResponseErrorDto.builder()
+                    .error(e.getMessage())
+                    .build();
+            return ResponseEntity.badRequest().body(errorDto);
+        }
+    }
+
+    //원댓글 하나의 답글 커서 페이징
+    @GetMapping("/comments/{group}/replies")
+    ResponseEntity<?> getReplies(@PathVariable(name = "group") Long groupNum,
+                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                 @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(commentService.findReplies(groupNum, cursor, size));
+        } catch (Exception e) {
+            e.printStackTrace();
+            ResponseErrorDto errorDto = ResponseErrorDto.builder()
+                    .error(e.getMessage())
+                    .build();
+            return ResponseEntity.badRequest().body(errorDto);
+        }
+    }
+
     @PostMapping("/comments")
     ResponseEntity<?> createComment(@RequestBody CommentCreateRequestDto requestDto) {
         try {
@@ -0,0 +1,18 @@
+package com.devu.backend.api.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentCursorResponseDto {
+    private List<CommentResponseDto> comments;
+    private String nextCursor;//다음 페이지 요청 시 cursor 파라미터로 전달, 마지막 페이지면 null
+    private boolean hasNext;
+}
@@ -18,6 +18,7 @@ public class CommentResponseDto {
     private String contents;
     private Long group;
     private String parent;
+    private Long replies;//원댓글의 답글 수, 답글은 GET /api/comments/{group}/replies 로 조회
     private boolean deleted;
     private LocalDateTime createAt;
     private LocalDateTime lastModifiedAt;
@@ -0,0 +1,36 @@
+package com.devu.backend.api.counter;
+
+import com.devu.backend.controller.ResponseErrorDto;
+import com.devu.backend.service.PostCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api")
+public class CounterApiController {
+    private final PostCounterService postCounterService;
+
+    /*
+    * 여러 게시글의 조회수, 좋아요, 댓글 수 한 번에 조회
+    * ex) /api/counters?postIds=1,2,3 (최대 devu.counter.max-ids 개)
+    * */
+    @GetMapping("/counters")
+    public ResponseEntity<?> getCounters(@RequestParam(name = "postIds") List<Long> postIds) {
+        try {
+            List<ResponseCountersDto> counters = postCounterService.findCounters(postIds);
+            return ResponseEntity.ok().body(counters);
+        } catch (Exception e) {
+            e.printStackTrace();
+            ResponseErrorDto errorDto = ResponseErrorDto.builder()
+                    .error(e.getMessage())
+                    .build();
+            return ResponseEntity.badRequest().body(errorDto);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.devu.backend.api.counter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponseCountersDto {
+    Long postId;
+    Long hits;
+    Long likes;
+    Long comments;
+}
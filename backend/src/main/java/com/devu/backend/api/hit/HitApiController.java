@@ -1,8 +1,7 @@
 package com.devu.backend.api.hit;
 
 import com.devu.backend.controller.ResponseErrorDto;
-import com.devu.backend.entity.post.Post;
-import com.devu.backend.service.LikeService;
+import com.devu.backend.service.PostCounterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -15,15 +14,14 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 @RequestMapping("/api")
 public class HitApiController {
-    private final LikeService likeService;
+    private final PostCounterService postCounterService;
 
     @GetMapping("/hits")
     public ResponseEntity<?> getHits(@RequestParam(name = "postId") Long postId) {
         try {
-            Post post = likeService.findPostById(postId);
             ResponseHitsDto responseDto = ResponseHitsDto.builder()
-                    .hits(post.getHit())
-                    .postId(post.getId()).build();
+                    .hits(postCounterService.getHits(postId))
+                    .postId(postId).build();
             log.info("Post Id {} has {} hits", responseDto.getPostId(), responseDto.getHits());
             return ResponseEntity.ok().body(responseDto);
         }catch (Exception e) {
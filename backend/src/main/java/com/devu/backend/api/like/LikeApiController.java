@@ -1,12 +1,14 @@
 package com.devu.backend.api.like;
 
+import com.devu.backend.common.Messages;
+import com.devu.backend.config.auth.UserDetailsImpl;
 import com.devu.backend.controller.ResponseErrorDto;
-import com.devu.backend.entity.User;
-import com.devu.backend.entity.post.Post;
 import com.devu.backend.service.LikeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @Slf4j
@@ -17,12 +19,14 @@ public class LikeApiController {
     private final LikeService likeService;
 
     @GetMapping("/like")
-    public ResponseEntity<?> getLike(@RequestParam(name = "postId") Long postId) {
+    public ResponseEntity<?> getLike(@AuthenticationPrincipal UserDetailsImpl principal,
+                                     @RequestParam(name = "postId") Long postId) {
         try {
-            Post post = likeService.findPostById(postId);
             ResponseLikeSizeDto responseDto = ResponseLikeSizeDto.builder()
-                    .likeSize(post.getLikes().size())
-                    .postId(postId).build();
+                    .likeSize((int) likeService.getLikeCount(postId))
+                    .postId(postId)
+                    .likedByMe(principal == null ? null : likeService.isAlreadyLiked(principal.getId(), postId))
+                    .build();
             log.info("Post Id {} has {} likes", responseDto.getPostId(), responseDto.getLikeSize());
             return ResponseEntity.ok().body(responseDto);
         }catch (Exception e){
@@ -34,27 +38,23 @@ public class LikeApiController {
         }
     }
 
+    /*
+    * 좋아요 토글 => 토큰의 user id 로만 처리 (요청 본문의 사용자 정보는 받지 않음)
+    * 로그인하지 않은 요청 => 401
+    * */
     @PostMapping("/like")
-    public ResponseEntity<?> addLike(@RequestBody RequestLikeDto requestLikeDto) {
-        try {
-            User user = likeService.findUserByUsername(requestLikeDto.getUsername());
-            Post post = likeService.findPostById(requestLikeDto.getPostId());
-
-            if (!likeService.isAlreadyLiked(user,post)) {
-                likeService.addLike(user,post);
-                log.info("Post {} is liked by {}",requestLikeDto.getPostId(),requestLikeDto.getUsername());
-                ResponseLikeDto likeDto = ResponseLikeDto.builder()
-                        .liked(true)
-                        .username(requestLikeDto.getUsername())
-                        .build();
-                return ResponseEntity.ok().body(likeDto);
-            }
-            likeService.dislike(user,post);
-            log.info("Post {} is disliked by {}",requestLikeDto.getPostId(),requestLikeDto.getUsername());
-            ResponseLikeDto likeDto = ResponseLikeDto.builder()
-                    .liked(false)
-                    .username(requestLikeDto.getUsername())
+    public ResponseEntity<?> addLike(@AuthenticationPrincipal UserDetailsImpl principal,
+                                     @RequestBody RequestLikeDto requestLikeDto) {
+        if (principal == null) {
+            ResponseErrorDto errorDto = ResponseErrorDto.builder()
+                    .error(Messages.LOGIN_REQUIRED)
                     .build();
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorDto);
+        }
+        try {
+            ResponseLikeDto likeDto = likeService.toggleLike(principal.getId(), requestLikeDto.getPostId());
+            likeDto.setUsername(principal.getNickname());
+            log.info("Post {} is {} by {}", requestLikeDto.getPostId(), likeDto.isLiked() ? "liked" : "disliked", likeDto.getUsername());
             return ResponseEntity.ok().body(likeDto);
         } catch (Exception e){
             e.printStackTrace();
@@ -12,4 +12,5 @@ import lombok.NoArgsConstructor;
 public class ResponseLikeDto {
     private String username;
     private boolean liked;
+    private Long likeCount;
 }
@@ -12,4 +12,5 @@ import lombok.NoArgsConstructor;
 public class ResponseLikeSizeDto {
     Long postId;
     int likeSize;
+    Boolean likedByMe;
 }
@@ -1,11 +1,11 @@
 package com.devu.backend.api.mypage;
 
 import com.devu.backend.config.auth.UserDetailsImpl;
+import com.devu.backend.config.auth.token.TokenService;
 import com.devu.backend.controller.ResponseErrorDto;
 import com.devu.backend.controller.post.PostResponseDto;
 import com.devu.backend.controller.user.UserDTO;
 import com.devu.backend.controller.user.UserRequestUpdateDto;
-import com.devu.backend.entity.User;
 import com.devu.backend.service.PostService;
 import com.devu.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +14,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -25,14 +27,15 @@ import java.util.stream.Stream;
 public class MyPageApiController {
     private final UserService userService;
     private final PostService postService;
+    private final TokenService tokenService;
 
     @GetMapping("/myPosts")
     public ResponseEntity<?> myPosts(@AuthenticationPrincipal UserDetailsImpl userDetails) {
         try{
-            User user = userDetails.getUser();
-            List<PostResponseDto> chats = postService.findAllChatsByUser(user);
-            List<PostResponseDto> studies = postService.findAllStudiesByUser(user);
-            List<PostResponseDto> questions = postService.findAllQuestionsByUser(user);
+            Long userId = userDetails.getId();
+            List<PostResponseDto> chats = postService.findAllChatsByUser(userId);
+            List<PostResponseDto> studies = postService.findAllStudiesByUser(userId);
+            List<PostResponseDto> questions = postService.findAllQuestionsByUser(userId);
             List<PostResponseDto> collect
                     = Stream.concat(chats.stream(), studies.stream()).collect(Collectors.toList());
             List<PostResponseDto> posts
@@ -50,10 +53,10 @@ public class MyPageApiController {
     @GetMapping("/myLikes")
     public ResponseEntity<?> myLikes(@AuthenticationPrincipal UserDetailsImpl userDetails) {
         try {
-            User user = userDetails.getUser();
-            List<PostResponseDto> chats = postService.findAllLikeChatsByUser(user);
-            List<PostResponseDto> studies = postService.findAllLikeStudiesByUser(user);
-            List<PostResponseDto> questions = postService.findAllLikeQuestionsByUser(user);
+            Long userId = userDetails.getId();
+            List<PostResponseDto> chats = postService.findAllLikeChatsByUser(userId);
+            List<PostResponseDto> studies = postService.findAllLikeStudiesByUser(userId);
+            List<PostResponseDto> questions = postService.findAllLikeQuestionsByUser(userId);
             List<PostResponseDto> collect
                     = Stream.concat(chats.stream(), studies.stream()).collect(Collectors.toList());
             List<PostResponseDto> likes
@@ -71,8 +74,7 @@ public class MyPageApiController {
     @DeleteMapping("/user")
     public ResponseEntity<?> deleteUser(@AuthenticationPrincipal UserDetailsImpl userDetails) {
         try {
-            String username = userDetails.getUser().getUsername();
-            userService.deleteUser(username);
+            String username = userService.deleteUser(userDetails.getId());
             return ResponseEntity.ok().body(username+ " 님이 탈퇴했습니다.");
         }catch (Exception e){
             e.printStackTrace();
@@ -84,10 +86,12 @@ public class MyPageApiController {
     }
 
     @PatchMapping("/username")
-    public ResponseEntity<?> updateUsername(@AuthenticationPrincipal UserDetailsImpl userDetails,@RequestBody UserRequestUpdateDto userUpdateDto) {
+    public ResponseEntity<?> updateUsername(@AuthenticationPrincipal UserDetailsImpl userDetails,@RequestBody UserRequestUpdateDto userUpdateDto,
+                                            HttpServletResponse response) {
         try {
-            String username = userDetails.getUser().getUsername();
-            UserDTO dto = userService.updateUsername(username, userUpdateDto.getUsername());
+            UserDTO dto = userService.updateUsername(userDetails.getId(), userUpdateDto.getUsername());
+            //access token 의 username claim 갱신
+            response.setHeader("X-AUTH-ACCESS-TOKEN", tokenService.createAccessToken(userDetails.getId(), dto.getEmail(), dto.getUsername()));
             return ResponseEntity.ok(dto);
         }catch (Exception e){
             e.printStackTrace();
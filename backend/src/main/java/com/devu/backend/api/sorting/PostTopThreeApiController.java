@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -18,9 +19,11 @@ public class PostTopThreeApiController {
     private final PostService postService;
 
     @GetMapping("/top3_chats_by_hit")
-    ResponseEntity<?> getTop3ChatByHits() {
+    ResponseEntity<?> getTop3ChatByHits(
+            @RequestParam(name = "k", defaultValue = "3") int k,
+            @RequestParam(name = "window", required = false) String window) {
         try {
-            List<PostResponseDto> responseDtos = postService.getTop3ChatByHits();
+            List<PostResponseDto> responseDtos = postService.getTopChatsByHits(k, window);
             return ResponseEntity.ok().body(responseDtos);
         }catch (Exception e) {
             e.printStackTrace();
@@ -32,9 +35,11 @@ public class PostTopThreeApiController {
     }
 
     @GetMapping("/top3_chats_by_likes")
-    ResponseEntity<?> getTop3ChatByLikes() {
+    ResponseEntity<?> getTop3ChatByLikes(
+            @RequestParam(name = "k", defaultValue = "3") int k,
+            @RequestParam(name = "window", required = false) String window) {
         try {
-            List<PostResponseDto> responseDtos = postService.getTop3ChatByLikes();
+            List<PostResponseDto> responseDtos = postService.getTopChatsByLikes(k, window);
             return ResponseEntity.ok().body(responseDtos);
         }catch (Exception e) {
             e.printStackTrace();
@@ -46,9 +51,11 @@ public class PostTopThreeApiController {
     }
 
     @GetMapping("/top3_studies_by_hit")
-    ResponseEntity<?> getTop3StudyByHits() {
+    ResponseEntity<?> getTop3StudyByHits(
+            @RequestParam(name = "k", defaultValue = "3") int k,
+            @RequestParam(name = "window", required = false) String window) {
         try {
-            List<PostResponseDto> responseDtos = postService.getTop3StudyByHits();
+            List<PostResponseDto> responseDtos = postService.getTopStudiesByHits(k, window);
             return ResponseEntity.ok().body(responseDtos);
         }catch (Exception e) {
             e.printStackTrace();
@@ -60,9 +67,11 @@ public class PostTopThreeApiController {
     }
 
     @GetMapping("/top3_studies_by_likes")
-    ResponseEntity<?> getTop3StudyByLikes() {
+    ResponseEntity<?> getTop3StudyByLikes(
+            @RequestParam(name = "k", defaultValue = "3") int k,
+            @RequestParam(name = "window", required = false) String window) {
         try {
-            List<PostResponseDto> responseDtos = postService.getTop3StudyByLikes();
+            List<PostResponseDto> responseDtos = postService.getTopStudiesByLikes(k, window);
             return ResponseEntity.ok().body(responseDtos);
         }catch (Exception e) {
             e.printStackTrace();
@@ -74,9 +83,11 @@ public class PostTopThreeApiController {
     }
 
     @GetMapping("/top3_questions_by_hit")
-    ResponseEntity<?> getTop3QuestionByHits() {
+    ResponseEntity<?> getTop3QuestionByHits(
+            @RequestParam(name = "k", defaultValue = "3") int k,
+            @RequestParam(name = "window", required = false) String window) {
         try {
-            List<PostResponseDto> responseDtos = postService.getTop3QuestionByHits();
+            List<PostResponseDto> responseDtos = postService.getTopQuestionsByHits(k, window);
             return ResponseEntity.ok().body(responseDtos);
         }catch (Exception e) {
             e.printStackTrace();
@@ -88,9 +99,11 @@ public class PostTopThreeApiController {
     }
 
     @GetMapping("/top3_questions_by_likes")
-    ResponseEntity<?> getTop3QuestionByLikes() {
+    ResponseEntity<?> getTop3QuestionByLikes(
+            @RequestParam(name = "k", defaultValue = "3") int k,
+            @RequestParam(name = "window", required = false) String window) {
         try {
-            List<PostResponseDto> responseDtos = postService.getTop3QuestionByLikes();
+            List<PostResponseDto> responseDtos = postService.getTopQuestionsByLikes(k, window);
             return ResponseEntity.ok().body(responseDtos);
         }catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,34 @@
+package com.devu.backend.common;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+/*
+* 위반한 제약 조건 이름으로 DataIntegrityViolationException 을 구분
+* Hibernate 가 이름을 뽑아 주면 그것으로, 못 뽑으면 (native 쿼리, DB 별 메시지 차이) 원인 메시지에 이름이 있는지로 판단
+* */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean violates(Throwable exception, String constraintName) {
+        String name = constraintName.toUpperCase(Locale.ROOT);
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String violated = ((ConstraintViolationException) cause).getConstraintName();
+                if (violated != null && violated.toUpperCase(Locale.ROOT).contains(name)) {
+                    return true;
+                }
+            }
+            if (cause.getMessage() != null && cause.getMessage().toUpperCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
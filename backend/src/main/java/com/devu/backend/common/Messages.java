@@ -20,5 +20,10 @@ public class Messages {
     public static final String TAG_NOT_FOUND = "기존 게시글에 설정된 태그가 아닙니다.";
     public static final String USER_NOT_MATCH = "잘못된 수정 요청입니다.";
     public static final String OREDER_NOT_FOUND = "잘못된 정렬 방식입니다.";
+    public static final String CURSOR_NOT_VALID = "잘못된 페이지 커서입니다.";
+    public static final String RANKING_WINDOW_NOT_FOUND = "잘못된 랭킹 기간입니다.";
+    public static final String PASSWORD_HASHING_BUSY = "로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.";
+    public static final String LOGIN_REQUIRED = "로그인이 필요합니다.";
+    public static final String TOO_MANY_POST_IDS = "한 번에 조회할 수 있는 게시글 수를 초과했습니다.";
 }
 
@@ -0,0 +1,9 @@
+package com.devu.backend.common.exception;
+
+import com.devu.backend.common.Messages;
+
+public class CursorNotValidException extends BusinessException{
+    public CursorNotValidException() {
+        super(Messages.CURSOR_NOT_VALID);
+    }
+}
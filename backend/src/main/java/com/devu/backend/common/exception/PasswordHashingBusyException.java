@@ -0,0 +1,9 @@
+package com.devu.backend.common.exception;
+
+import com.devu.backend.common.Messages;
+
+public class PasswordHashingBusyException extends BusinessException {
+    public PasswordHashingBusyException() {
+        super(Messages.PASSWORD_HASHING_BUSY);
+    }
+}
@@ -0,0 +1,9 @@
+package com.devu.backend.common.exception;
+
+import com.devu.backend.common.Messages;
+
+public class RankingWindowNotFoundException extends BusinessException{
+    public RankingWindowNotFoundException() {
+        super(Messages.RANKING_WINDOW_NOT_FOUND);
+    }
+}
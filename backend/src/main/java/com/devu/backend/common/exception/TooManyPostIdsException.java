@@ -0,0 +1,9 @@
+package com.devu.backend.common.exception;
+
+import com.devu.backend.common.Messages;
+
+public class TooManyPostIdsException extends BusinessException {
+    public TooManyPostIdsException() {
+        super(Messages.TOO_MANY_POST_IDS);
+    }
+}
@@ -1,5 +1,6 @@
 package com.devu.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,8 +8,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @Configuration
 public class AppConfig {
 
+    //strength 를 올리면 기존 해시는 로그인 시 새 strength 로 다시 저장 (PasswordHasher)
     @Bean
-    public BCryptPasswordEncoder encoderPwd() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder encoderPwd(@Value("${devu.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
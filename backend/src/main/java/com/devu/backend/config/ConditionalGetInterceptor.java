@@ -0,0 +1,61 @@
+package com.devu.backend.config;
+
+import com.devu.backend.service.ContentVersions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+* 조건부 GET => 컨트롤러 실행 전에 버전으로 ETag / Last-Modified 비교
+* 클라이언트 사본이 최신이면 304 로 바로 응답 (DTO 생성, 직렬화 생략)
+* 버전은 내용을 읽기 전에 가져옴 => 그 사이 변경이 커밋되면 다음 요청에서 ETag 가 달라짐
+* validator 를 구할 수 없으면 (잘못된 경로 변수 등) 그냥 컨트롤러로 넘김
+* 304 로 끝나도 해야 하는 일 (ex. 상세 조회수) => onNotModified
+* 버전은 서버마다 메모리에 따로 있음 (ContentVersions) => 여러 대로 띄우면 다른 서버의 변경을 모르고 이전 내용에 304 를 줄 수 있음
+* */
+@Slf4j
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final Function<HttpServletRequest, ContentVersions.Validator> validators;
+    private final Consumer<HttpServletRequest> onNotModified;
+
+    public ConditionalGetInterceptor(Function<HttpServletRequest, ContentVersions.Validator> validators) {
+        this(validators, request -> {
+        });
+    }
+
+    public ConditionalGetInterceptor(Function<HttpServletRequest, ContentVersions.Validator> validators,
+                                     Consumer<HttpServletRequest> onNotModified) {
+        this.validators = validators;
+        this.onNotModified = onNotModified;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        ContentVersions.Validator validator;
+        try {
+            validator = validators.apply(request);
+        } catch (RuntimeException e) {
+            log.debug("Skip conditional GET for {} : {}", request.getRequestURI(), e.getMessage());
+            return true;
+        }
+        if (validator == null) {
+            return true;
+        }
+        //304 면 false => 컨트롤러 실행 안 함, 아니면 ETag / Last-Modified 헤더만 붙이고 진행
+        if (new ServletWebRequest(request, response).checkNotModified(validator.getETag(), validator.getLastModified())) {
+            onNotModified.accept(request);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package com.devu.backend.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+
+/*
+* Hibernate 2차 캐시 (JCache + Ehcache, 프로세스 내 힙)
+* 엔티티 => User, Tag, Position (읽기 >> 쓰기), 쿼리 캐시 => username/email 조회, 채용 공고 목록
+* 변경은 Hibernate 가 처리 => dirty checking/삭제 시 엔티티 캐시 갱신, 테이블 변경 시각으로 쿼리 캐시 무효화
+* JdbcTemplate 으로 쓰는 tag 테이블은 쿼리 캐시를 쓰지 않음 (Hibernate 가 변경을 모름)
+* */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String USER_REGION = "user";
+    public static final String TAG_REGION = "tag";
+    public static final String POSITION_REGION = "position";
+    public static final String QUERY_REGION = "default-query-results-region";
+    public static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    //테이블별 마지막 변경 시각 => 만료/축출되면 오래된 쿼리 결과가 살아날 수 있어 넉넉하게, 만료 없음
+    private static final long TIMESTAMPS_MAX_ENTRIES = 1000;
+
+    @Value("${devu.l2-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${devu.l2-cache.query-max-entries:5000}")
+    private long queryMaxEntries;
+
+    @Value("${devu.l2-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${devu.l2-cache.statistics:true}")
+    private boolean statistics;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        createCache(cacheManager, USER_REGION, maxEntries, Duration.ofSeconds(ttlSeconds));
+        createCache(cacheManager, TAG_REGION, maxEntries, Duration.ofSeconds(ttlSeconds));
+        createCache(cacheManager, POSITION_REGION, maxEntries, Duration.ofSeconds(ttlSeconds));
+        createCache(cacheManager, QUERY_REGION, queryMaxEntries, Duration.ofSeconds(ttlSeconds));
+        createCache(cacheManager, TIMESTAMPS_REGION, TIMESTAMPS_MAX_ENTRIES, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+
+    private void createCache(CacheManager cacheManager, String region, long entries, Duration ttl) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(entries));
+        if (ttl != null) {
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl));
+        }
+        cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(builder));
+    }
+}
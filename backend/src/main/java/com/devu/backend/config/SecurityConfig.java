@@ -1,11 +1,16 @@
 package com.devu.backend.config;
 
 import com.devu.backend.config.auth.UserDetailsServiceImpl;
+import com.devu.backend.config.auth.UserRoles;
 import com.devu.backend.config.auth.token.JwtAuthenticationFilter;
+import com.devu.backend.config.auth.token.RouteClassifier;
+import com.devu.backend.controller.post.PostController;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -28,6 +33,23 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         auth.userDetailsService(userDetailsServiceImpl);
     }
 
+    //정적 파일은 보안 필터 체인을 아예 타지 않음
+    @Override
+    public void configure(WebSecurity web) {
+        web.ignoring().antMatchers(RouteClassifier.STATIC_PATTERNS);
+    }
+
+    /*
+    * JwtAuthenticationFilter 는 @Component 라서 서블릿 필터로도 자동 등록됨
+    * => 보안 체인 밖에서 먼저 실행되어 ignoring 경로에서도 돌게 되므로 자동 등록은 끔 (보안 체인 안에서만 실행)
+    * */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http.
@@ -41,16 +63,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                     .and()
                 .authorizeRequests()
-                    .antMatchers("/",
-                        "/error",
-                        "/favicon.ico",
-                        "/**/*.png",
-                        "/**/*.gif",
-                        "/**/*.svg",
-                        "/**/*.jpg",
-                        "/**/*.html",
-                        "/**/*.css",
-                        "/**/*.js").permitAll()
+                    .antMatchers("/", "/error").permitAll()
+                    //운영 통계 => 관리자만 (아래 /api/** permitAll 보다 먼저)
+                    .antMatchers("/api/auth/hash-stats", "/api/cache/stats").hasRole(UserRoles.ADMIN)
                     .antMatchers(
                             "/", "/key",
                             "/email", "/signup", "/signin", "/logout", "/silent-refresh",
@@ -70,7 +85,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         configuration.setAllowedOriginPatterns(Arrays.asList("http://54.180.29.69"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("X-AUTH-ACCESS-TOKEN"));
+        configuration.setExposedHeaders(Arrays.asList("X-AUTH-ACCESS-TOKEN", PostController.SEARCH_TRUNCATED_HEADER));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,113 @@
+package com.devu.backend.config;
+
+import com.devu.backend.config.auth.UserDetailsImpl;
+import com.devu.backend.entity.post.PostType;
+import com.devu.backend.service.ContentVersions;
+import com.devu.backend.service.PostService;
+import com.devu.backend.service.ranking.PostLeaderboard;
+import com.devu.backend.service.ranking.RankingMetric;
+import com.devu.backend.service.ranking.RankingWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/*
+* 조건부 GET 적용 범위
+* 게시글 상세 => 게시글 버전, 게시글 목록/개수 => 목록 버전 (상세,목록은 로그인 사용자별로 구분), 인기글 => 목록 버전 + 현재 순위, 채용 공고 => 재수집 버전
+* 조회수가 들어간 응답(상세, 목록, 인기글) => hit 세대도 포함 (ContentVersions.withHits)
+* */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final Pattern TOP_PATH = Pattern.compile("/api/top3_(chats|studies|questions)_by_(hit|likes)");
+    private static final Map<String, PostType> TOP_TYPES = Map.of(
+            "chats", PostType.CHAT,
+            "studies", PostType.STUDY,
+            "questions", PostType.QUESTION);
+
+    private final ContentVersions contentVersions;
+    private final PostLeaderboard postLeaderboard;
+    private final PostService postService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        //304 로 끝나도 조회수는 반영 (컨트롤러의 조회수 증가가 실행되지 않음)
+        registry.addInterceptor(new ConditionalGetInterceptor(request -> forUser(withHits(postValidator(request))), this::recordHit))
+                .addPathPatterns("/community/chats/*", "/community/studies/*", "/community/questions/*")
+                .excludePathPatterns("/community/*/size");
+        registry.addInterceptor(new ConditionalGetInterceptor(request -> forUser(contentVersions.withHits(contentVersions.scope(ContentVersions.POSTS)))))
+                .addPathPatterns("/community/chats", "/community/studies", "/community/questions");
+        registry.addInterceptor(new ConditionalGetInterceptor(request -> contentVersions.scope(ContentVersions.POSTS)))
+                .addPathPatterns("/community/*/size");
+        registry.addInterceptor(new ConditionalGetInterceptor(this::topValidator))
+                .addPathPatterns("/api/top3_*");
+        registry.addInterceptor(new ConditionalGetInterceptor(request -> contentVersions.scope(ContentVersions.POSITIONS)))
+                .addPathPatterns("/api/position/**");
+    }
+
+    private ContentVersions.Validator postValidator(HttpServletRequest request) {
+        Long postId = postId(request);
+        return postId == null ? null : contentVersions.post(postId);
+    }
+
+    private ContentVersions.Validator withHits(ContentVersions.Validator validator) {
+        return validator == null ? null : contentVersions.withHits(validator);
+    }
+
+    private void recordHit(HttpServletRequest request) {
+        Long postId = postId(request);
+        if (postId != null) {
+            postService.recordHit(postId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long postId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get("id") == null) {
+            return null;
+        }
+        return Long.valueOf(variables.get("id"));
+    }
+
+    /*
+    * 상세,목록 응답의 likedByMe 는 사용자마다 다름 => 로그인 사용자면 ETag 에 user id 포함
+    * 내 좋아요 토글은 게시글 버전을 올리므로 사용자별 버전은 따로 필요 없음
+    * */
+    private ContentVersions.Validator forUser(ContentVersions.Validator validator) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (validator == null || authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl)) {
+            return validator;
+        }
+        return validator.with("user-" + ((UserDetailsImpl) authentication.getPrincipal()).getId());
+    }
+
+    //조회수 순위는 목록 버전 없이도 바뀜 => 현재 순위(id 목록)를 ETag 에 그대로 포함 (k 는 max-k 로 제한)
+    private ContentVersions.Validator topValidator(HttpServletRequest request) {
+        Matcher matcher = TOP_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            return null;
+        }
+        String k = request.getParameter("k");
+        RankingMetric metric = matcher.group(2).equals("hit") ? RankingMetric.HIT : RankingMetric.LIKES;
+        List<Long> top = postLeaderboard.top(
+                TOP_TYPES.get(matcher.group(1)),
+                metric,
+                k == null ? 3 : Integer.parseInt(k),
+                RankingWindow.of(request.getParameter("window")));
+        return contentVersions.withHits(contentVersions.scope(ContentVersions.POSTS))
+                .with(top.stream().map(String::valueOf).collect(Collectors.joining(".")));
+    }
+}
@@ -0,0 +1,103 @@
+package com.devu.backend.config.auth;
+
+import com.devu.backend.config.auth.token.TokenService;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+* access token => principal
+* uid,username claim 이 있는 토큰 => claim 으로 바로 생성 (사용자 조회 X)
+* claim 이 없는 이전 토큰, 또는 발급 이후 username,password 가 바뀐 사용자 => email 로 조회 후 짧은 TTL 캐시
+* 변경 기록은 access token 유효 시간(30분)보다 길게만 보관하면 충분
+* */
+@Component
+public class AuthPrincipalCache {
+
+    private static final long CHANGE_RETENTION_MILLIS = 1000L * 60 * 60;
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    //userId => 마지막 username,password 변경,탈퇴 시각
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+
+    public AuthPrincipalCache(UserDetailsServiceImpl userDetailsService,
+                              @Value("${devu.auth.principal-ttl-seconds:60}") long ttlSeconds,
+                              @Value("${devu.auth.principal-max-entries:10000}") int maxEntries) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public UserDetailsImpl principal(Claims claims) {
+        Number userId = claims.get(TokenService.CLAIM_USER_ID, Number.class);
+        String username = claims.get(TokenService.CLAIM_USERNAME, String.class);
+        if (userId != null && username != null && issuedAfterChange(userId.longValue(), claims.getIssuedAt())) {
+            return new UserDetailsImpl(userId.longValue(), claims.getSubject(), username, null, roles(claims));
+        }
+        return load(claims.getSubject());
+    }
+
+    public UserDetailsImpl load(String email) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry entry = entries.get(email);
+            if (entry != null && entry.expiresAt > now) {
+                return entry.principal;
+            }
+        }
+        UserDetailsImpl principal = (UserDetailsImpl) userDetailsService.loadUserByUsername(email);
+        synchronized (this) {
+            entries.put(email, new Entry(principal, now + ttlMillis));
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return principal;
+    }
+
+    /*
+    * username,password 변경, 탈퇴 커밋 후 호출
+    * 그 전에 발급된 토큰의 claim 은 더 이상 믿지 않고 DB 에서 다시 읽음
+    * */
+    public void invalidate(Long userId, String email) {
+        long now = System.currentTimeMillis();
+        changedAt.put(userId, now);
+        changedAt.values().removeIf(at -> at < now - CHANGE_RETENTION_MILLIS);
+        synchronized (this) {
+            entries.remove(email);
+        }
+    }
+
+    //iat 는 초 단위 => 변경과 같은 초에 발급된 토큰도 DB 로 확인
+    private boolean issuedAfterChange(long userId, Date issuedAt) {
+        Long changed = changedAt.get(userId);
+        return changed == null || (issuedAt != null && issuedAt.getTime() > changed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> roles(Claims claims) {
+        Object roles = claims.get(TokenService.CLAIM_ROLES);
+        if (roles instanceof List) {
+            return (List<String>) roles;
+        }
+        return UserDetailsImpl.DEFAULT_ROLES;
+    }
+
+    private static class Entry {
+        private final UserDetailsImpl principal;
+        private final long expiresAt;
+
+        private Entry(UserDetailsImpl principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
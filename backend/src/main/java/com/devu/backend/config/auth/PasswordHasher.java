@@ -0,0 +1,130 @@
+package com.devu.backend.config.auth;
+
+import com.devu.backend.api.auth.PasswordHashStatsDto;
+import com.devu.backend.common.exception.PasswordHashingBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+* BCrypt 전용 스레드 풀 (로그인, 비밀번호 변경)
+* BCrypt 는 CPU 를 오래 쓰므로 요청 스레드에서 바로 돌리면 로그인이 몰릴 때 일반 조회까지 밀림
+* => 동시에 해시하는 개수를 pool-size 로 제한, 대기열이 차면 기다리지 않고 바로 거절
+* 요청 스레드는 결과만 기다림 (timeout 초과도 거절로 처리)
+* */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder hashed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+
+    public PasswordHasher(BCryptPasswordEncoder passwordEncoder,
+                          @Value("${devu.password.pool-size:0}") int poolSize,
+                          @Value("${devu.password.queue-capacity:50}") int queueCapacity,
+                          @Value("${devu.password.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        //0 이면 코어 수 - 1 (최소 1) => 해시가 몰려도 요청 처리용 코어 하나는 남김
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "PasswordHasher-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    //설정된 strength 보다 낮은 해시 => 로그인 성공 시 다시 저장
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public String rehash(String rawPassword) {
+        String encoded = encode(rawPassword);
+        rehashed.increment();
+        return encoded;
+    }
+
+    public PasswordHashStatsDto stats() {
+        long count = hashed.sum();
+        return PasswordHashStatsDto.builder()
+                .hashed(count)
+                .averageMillis(count == 0 ? 0 : totalNanos.sum() / count / 1_000_000.0)
+                .maxMillis(maxNanos.get() / 1_000_000.0)
+                .rejected(rejected.sum())
+                .rehashed(rehashed.sum())
+                .active(executor.getActiveCount())
+                .queued(executor.getQueue().size())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing rejected : queue full ({})", executor.getQueue().size());
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            log.warn("Password hashing timed out after {} ms", timeoutMillis);
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> T timed(Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            hashed.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
@@ -8,29 +8,53 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
+/*
+* 인증된 사용자 정보 (User 엔티티를 들고 있지 않음)
+* 로그인 => DB 에서 읽은 User 로 생성, API 요청 => access token claim 으로 생성 (password 없음)
+* getUsername() 은 스프링 규약상 로그인 id (email), 화면에 쓰는 username 은 getNickname()
+* */
 @Getter
 public class UserDetailsImpl implements UserDetails {
 
-    private User user;
+    public static final List<String> DEFAULT_ROLES = List.of("ROLE_USER");
+
+    private final Long id;
+    private final String email;
+    private final String nickname;
+    private final String password;
+    private final List<String> roles;
 
     public UserDetailsImpl(User user) {
-        this.user = user;
+        this(user, DEFAULT_ROLES);
+    }
+
+    public UserDetailsImpl(User user, List<String> roles) {
+        this(user.getId(), user.getEmail(), user.getUsername(), user.getPassword(), roles);
+    }
+
+    public UserDetailsImpl(Long id, String email, String nickname, String password, List<String> roles) {
+        this.id = id;
+        this.email = email;
+        this.nickname = nickname;
+        this.password = password;
+        this.roles = roles;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -14,10 +14,11 @@ import org.springframework.stereotype.Service;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserRoles userRoles;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email).orElseThrow(UserNotFoundException::new);
-        return new UserDetailsImpl(user);
+        return new UserDetailsImpl(user, userRoles.of(user.getEmail()));
     }
 }
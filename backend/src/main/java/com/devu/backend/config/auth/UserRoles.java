@@ -0,0 +1,34 @@
+package com.devu.backend.config.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+* 사용자 권한 => 모두 ROLE_USER, devu.auth.admin-emails 에 있는 계정만 ROLE_ADMIN 추가
+* users 테이블에 권한 컬럼이 없음 => 운영 통계 API 를 볼 계정만 설정으로 지정
+* 설정에서 빼도 이미 발급된 access token 의 roles claim 은 만료(30분)까지 유효
+* */
+@Component
+public class UserRoles {
+
+    public static final String ADMIN = "ADMIN";
+    public static final List<String> ADMIN_ROLES = List.of("ROLE_USER", "ROLE_" + ADMIN);
+
+    private final Set<String> adminEmails;
+
+    public UserRoles(@Value("${devu.auth.admin-emails:}") List<String> adminEmails) {
+        this.adminEmails = adminEmails.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .collect(Collectors.toSet());
+    }
+
+    public List<String> of(String email) {
+        return adminEmails.contains(email) ? ADMIN_ROLES : UserDetailsImpl.DEFAULT_ROLES;
+    }
+}
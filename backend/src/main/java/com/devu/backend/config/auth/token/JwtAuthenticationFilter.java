@@ -1,12 +1,14 @@
 package com.devu.backend.config.auth.token;
 
+import com.devu.backend.config.auth.AuthPrincipalCache;
 import com.devu.backend.config.auth.UserDetailsImpl;
-import com.devu.backend.config.auth.UserDetailsServiceImpl;
-import com.devu.backend.repository.RefreshTokenRepository;
 import com.devu.backend.service.CookieService;
+import com.devu.backend.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -17,6 +19,7 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -24,9 +27,28 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final CookieService cookieService;
-    private final UserDetailsServiceImpl userDetailsServiceimpl;
+    private final AuthPrincipalCache authPrincipalCache;
+    private final RouteClassifier routeClassifier = new RouteClassifier();
+
+    /*
+    * 정적 파일, CORS preflight => 토큰 처리 X
+    * 비로그인 GET 경로 => access token, refresh 쿠키가 둘 다 없을 때만 생략
+    * */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        RouteClassifier.Route route = routeClassifier.classify(request);
+        if (route == RouteClassifier.Route.STATIC) {
+            return true;
+        }
+        return route == RouteClassifier.Route.PUBLIC_READ
+                && !hasToken(tokenService.resolveToken(request, "ACCESS"))
+                && cookieService.getCookie(request, "X-AUTH-REFRESH-TOKEN") == null;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -34,11 +56,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String refreshToken = null;
 
         try {
-            if (accessToken != null && !accessToken.equals("undefined") && !accessToken.equals("null")) {
-                UserDetailsImpl userDetailsimpl = (UserDetailsImpl) userDetailsServiceimpl.loadUserByUsername(tokenService.getUserEmail(accessToken));
-                if (tokenService.validateTokenExceptExpiration(accessToken, userDetailsimpl)) {
-                    log.info("유효");
-                    getAuthentication(accessToken);
+            if (hasToken(accessToken)) {
+                //서명 검증 1번 + claim 으로 principal 생성 (사용자 조회 X)
+                Optional<Claims> claims = tokenService.getValidClaims(accessToken);
+                if (claims.isPresent()) {
+                    log.debug("유효");
+                    setAuthentication(authPrincipalCache.principal(claims.get()));
                 } else {
                     log.info("유효x");
                     refreshToken = existRefreshToken(request, refreshToken);
@@ -54,10 +77,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             if (refreshToken != null) {
                 log.info("refresh");
-                RefreshToken dbRefreshToken = refreshTokenRepository.findByRefreshToken(refreshToken);
-                if (dbRefreshToken != null && tokenService.isTokenExpired(dbRefreshToken.getRefreshToken())) {
-                    Authentication auth = getAuthentication(dbRefreshToken.getRefreshToken());
-                    createAccessToken(response, auth);
+                //로그아웃,만료,위조 토큰은 DB 조회 없이 거절
+                if (refreshTokenService.isActive(refreshToken)) {
+                    UserDetailsImpl principal = authPrincipalCache.load(tokenService.getUserEmail(refreshToken));
+                    setAuthentication(principal);
+                    createAccessToken(response, principal);
                 }
             }
         } catch (ExpiredJwtException e) {
@@ -66,15 +90,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private Authentication getAuthentication(String accessToken) {
-        Authentication auth = tokenService.getAuthentication(accessToken);
+    private void setAuthentication(UserDetailsImpl principal) {
+        Authentication auth = tokenService.getAuthentication(principal);
         SecurityContextHolder.getContext().setAuthentication(auth);
-        return auth;
     }
 
-    private void createAccessToken(HttpServletResponse response, Authentication auth) {
-        UserDetailsImpl principal = (UserDetailsImpl) auth.getPrincipal();
-        (response).setHeader("X-AUTH-ACCESS-TOKEN", tokenService.createAccessToken(principal.getUsername()));
+    private void createAccessToken(HttpServletResponse response, UserDetailsImpl principal) {
+        (response).setHeader("X-AUTH-ACCESS-TOKEN",
+                tokenService.createAccessToken(principal.getId(), principal.getEmail(), principal.getNickname()));
+    }
+
+    private boolean hasToken(String accessToken) {
+        return accessToken != null && !accessToken.equals("undefined") && !accessToken.equals("null");
     }
 
     private String existRefreshToken(HttpServletRequest request, String refreshToken) {
@@ -5,12 +5,18 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
+import javax.persistence.*;
+import java.time.LocalDateTime;
 
+/*
+* refresh token 은 원문 대신 SHA-256 digest 로 저장 (고정 길이 + unique index)
+* expiresAt 이 지난 행은 RefreshTokenService.sweep 이 주기적으로 삭제
+* */
 @Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "UK_REFRESH_TOKEN_DIGEST", columnList = "tokenDigest", unique = true),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expiresAt")
+})
 @Builder @Getter
 @NoArgsConstructor @AllArgsConstructor
 public class RefreshToken {
@@ -18,5 +24,8 @@ public class RefreshToken {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private String refreshToken;
+    @Column(length = TokenDigest.LENGTH)
+    private String tokenDigest;
+
+    private LocalDateTime expiresAt;
 }
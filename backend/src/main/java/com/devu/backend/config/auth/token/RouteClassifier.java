@@ -0,0 +1,59 @@
+package com.devu.backend.config.auth.token;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/*
+* 요청 경로 분류 => JwtAuthenticationFilter 를 건너뛸 수 있는지 판단
+* STATIC      => 정적 파일, 보안 필터 체인 자체를 타지 않음 (WebSecurity.ignoring)
+* PUBLIC_READ => 비로그인도 볼 수 있는 GET, 토큰이 없으면 토큰 처리 생략
+*                토큰이 있으면 그대로 인증 (likedByMe, 사용자별 ETag 에 필요)
+* PROTECTED   => 나머지, 항상 토큰 처리
+* */
+public class RouteClassifier {
+
+    public enum Route {
+        STATIC, PUBLIC_READ, PROTECTED
+    }
+
+    public static final String[] STATIC_PATTERNS = {
+            "/favicon.ico",
+            "/**/*.png",
+            "/**/*.gif",
+            "/**/*.svg",
+            "/**/*.jpg",
+            "/**/*.html",
+            "/**/*.css",
+            "/**/*.js"
+    };
+
+    private static final List<String> PUBLIC_READ_PATTERNS = List.of(
+            "/", "/error",
+            "/community/**", "/api/**", "/like",
+            "/comments/**", "/reComments/**");
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public Route classify(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (String pattern : STATIC_PATTERNS) {
+            if (matcher.match(pattern, path)) {
+                return Route.STATIC;
+            }
+        }
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return Route.PROTECTED;
+        }
+        for (String pattern : PUBLIC_READ_PATTERNS) {
+            if (matcher.match(pattern, path)) {
+                return Route.PUBLIC_READ;
+            }
+        }
+        return Route.PROTECTED;
+    }
+}
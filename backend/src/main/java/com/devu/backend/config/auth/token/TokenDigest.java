@@ -0,0 +1,27 @@
+package com.devu.backend.config.auth.token;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/*
+* 토큰 SHA-256 digest (base64, 44자 고정)
+* 캐시 key, refresh token 저장에 사용 => 토큰 원문은 DB,메모리에 남기지 않음
+* */
+public final class TokenDigest {
+
+    public static final int LENGTH = 44;
+
+    private TokenDigest() {
+    }
+
+    public static String of(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.devu.backend.config.auth.token;
 
-import com.devu.backend.config.auth.UserDetailsImpl;
-import com.devu.backend.config.auth.UserDetailsServiceImpl;
+import com.devu.backend.config.auth.UserRoles;
 import io.jsonwebtoken.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,23 +13,38 @@ import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class TokenService {
 
+    private final UserRoles userRoles;
+
     private String secretKey = "Devu";
     private long accessTokenValidTime = 1000L * 60 * 30; // 30분
     private long refreshTokenValidTime = 1000L * 60 * 30 * (2 * 24 * 14); // 14일
-    private final UserDetailsServiceImpl userDetailsService;
+
+    //access token 에 넣는 사용자 정보 => 요청마다 사용자 조회 없이 principal 생성
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_USERNAME = "username";
+    public static final String CLAIM_ROLES = "roles";
+
+    @Value("${devu.auth.token-cache-max-entries:10000}")
+    private int tokenCacheMaxEntries;
+
+    private VerifiedTokenCache verifiedTokens;
 
     @PostConstruct
     protected void init() {
         secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+        verifiedTokens = new VerifiedTokenCache(tokenCacheMaxEntries);
     }
 
     public String createToken(String email, long time) {
-        Claims claims = Jwts.claims().setSubject(email);
+        //jti => 같은 사용자가 같은 초에 발급받아도 토큰(digest)이 겹치지 않게
+        Claims claims = Jwts.claims().setSubject(email).setId(UUID.randomUUID().toString());
         Date now = new Date();
 
         return Jwts.builder()
@@ -40,20 +55,56 @@ public class TokenService {
                 .compact();
     }
 
-    public String createAccessToken(String email) {
-        return createToken(email, accessTokenValidTime);
+    public String createAccessToken(Long userId, String email, String username) {
+        Claims claims = Jwts.claims().setSubject(email);
+        claims.put(CLAIM_USER_ID, userId);
+        claims.put(CLAIM_USERNAME, username);
+        claims.put(CLAIM_ROLES, userRoles.of(email));
+        Date now = new Date();
+
+        return Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + accessTokenValidTime))
+                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .compact();
     }
 
     public String createRefreshToken(String email) {
         return createToken(email, refreshTokenValidTime);
     }
 
-    public Authentication getAuthentication(String token) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(getUserEmail(token));
+    public Authentication getAuthentication(UserDetails userDetails) {
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
+    /*
+    * 서명 검증 후 claim 반환 => 만료,위조,형식 오류면 empty
+    * 검증된 토큰은 만료 시각까지 캐시 => 같은 토큰은 노드당 한 번만 검증
+    * */
+    public Optional<Claims> getValidClaims(String token) {
+        long now = System.currentTimeMillis();
+        Claims cached = verifiedTokens.get(token, now);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            Claims claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(token, claims, now);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String getUserEmail(String token) {
+        Optional<Claims> valid = getValidClaims(token);
+        if (valid.isPresent()) {
+            return valid.get().getSubject();
+        }
         try {
             return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject();
         } catch(ExpiredJwtException e) {
@@ -65,18 +116,8 @@ public class TokenService {
         return req.getHeader("X-AUTH-" + name + "-TOKEN");
     }
 
+    //만료 전이면 true (이름과 반대), 서명 검증은 getValidClaims 캐시 사용
     public Boolean isTokenExpired(String token) {
-        Jws<Claims> claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-        return !claims.getBody().getExpiration().before(new Date());
-    }
-
-    public boolean validateTokenExceptExpiration(String token, UserDetailsImpl userDetailsimpl) {
-        try {
-            String email = getUserEmail(token);
-
-            return email.equals(userDetailsimpl.getUsername())&& isTokenExpired(token);
-        } catch(Exception e) {
-            return false;
-        }
+        return getValidClaims(token).isPresent();
     }
 }
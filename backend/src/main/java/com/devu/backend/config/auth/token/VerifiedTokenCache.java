@@ -0,0 +1,61 @@
+package com.devu.backend.config.auth.token;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/*
+* 서명 검증이 끝난 토큰의 claim 캐시 (LRU, 토큰 만료 시각까지)
+* 같은 access token 이 만료 전까지 요청마다 다시 검증되는 것을 노드당 1번으로 줄임
+* key => 토큰 SHA-256 digest (토큰 원문은 메모리에 남기지 않음)
+* 반환한 Claims 는 공유 객체 => 읽기만 할 것
+* */
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Claims> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    //없거나 만료됐으면 null
+    public Claims get(String token, long now) {
+        String key = TokenDigest.of(token);
+        synchronized (this) {
+            Claims claims = entries.get(key);
+            if (claims == null) {
+                return null;
+            }
+            if (isExpired(claims, now)) {
+                entries.remove(key);
+                return null;
+            }
+            return claims;
+        }
+    }
+
+    public void put(String token, Claims claims, long now) {
+        if (isExpired(claims, now)) {
+            return;
+        }
+        String key = TokenDigest.of(token);
+        synchronized (this) {
+            entries.put(key, claims);
+            Iterator<Claims> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Claims claims, long now) {
+        return claims.getExpiration() == null || claims.getExpiration().getTime() <= now;
+    }
+}
@@ -0,0 +1,80 @@
+package com.devu.backend.config.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+* devu.datasource.routing.enabled=true 일 때만 => 아니면 기존처럼 spring.datasource 단일 Hikari 풀
+* primary 풀은 spring.datasource(.hikari) 설정 그대로, 복제본은 devu.datasource.routing.replicas
+* */
+@Configuration
+@ConditionalOnProperty(prefix = "devu.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("devu.datasource.routing")
+    public DataSourceRoutingProperties dataSourceRoutingProperties() {
+        return new DataSourceRoutingProperties();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             DataSourceRoutingProperties routingProperties,
+                                                             Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            replicas.add(replica(routingProperties.getReplicas().get(i), i));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, routingProperties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /*
+    * open-in-view 로 EntityManager 가 요청 내내 유지됨 => 기본 설정(DELAYED_ACQUISITION_AND_HOLD)이면 첫 트랜잭션이 잡은 연결을 요청 끝까지 재사용
+    * ex. 컨트롤러에서 readOnly 조회 후 삭제 => 삭제가 복제본 연결로 감
+    * 트랜잭션이 끝날 때 연결을 반납해서 트랜잭션마다 다시 라우팅
+    * */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    //복제본이 내려가 있어도 애플리케이션은 떠야 함 => 풀 초기화 실패 무시, 헬스 체크에서 제외됨
+    private HikariDataSource replica(HikariConfig config, int index) {
+        if (!StringUtils.hasText(config.getPoolName())) {
+            config.setPoolName("replica-" + index);
+        }
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,28 @@
+package com.devu.backend.config.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+* devu.datasource.routing.*
+* replicas => 읽기 전용 복제본 Hikari 설정 (jdbc-url, username, password, maximum-pool-size ...)
+* lag-query => 복제 지연(초)을 숫자 한 개로 돌려주는 쿼리, 비어 있으면 지연 검사 생략
+* */
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+
+    private boolean enabled;
+
+    private List<HikariConfig> replicas = new ArrayList<>();
+
+    private String lagQuery;
+
+    private long maxLagSeconds = 5;
+
+    private int validationTimeoutSeconds = 2;
+}
@@ -0,0 +1,39 @@
+package com.devu.backend.config.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/*
+* 캐시에 올릴 값은 primary 에서 읽음
+* 복제본은 지연이 있음 => 변경 커밋(버전 증가) 직후 복제본에서 읽으면 이전 행이 새 버전으로 캐시됨
+* 현재 readOnly 트랜잭션이 이미 복제본 연결을 잡았을 수 있음 => 새 쓰기 트랜잭션(REQUIRES_NEW)에서 읽음
+* 읽기/쓰기 분리를 안 쓰거나 이미 primary 로 가는 (readOnly 가 아닌) 트랜잭션이면 그대로 실행
+* */
+@Component
+public class PrimaryReader {
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean routing;
+
+    public PrimaryReader(PlatformTransactionManager transactionManager,
+                         @Value("${devu.datasource.routing.enabled:false}") boolean routing) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.routing = routing;
+    }
+
+    public <T> T read(Supplier<T> reader) {
+        //트랜잭션 밖(스케줄러 등)이면 repository 의 readOnly 트랜잭션이 복제본으로 감 => 쓰기 트랜잭션을 새로 시작
+        if (!routing || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return reader.get();
+        }
+        return transactionTemplate.execute(status -> reader.get());
+    }
+}
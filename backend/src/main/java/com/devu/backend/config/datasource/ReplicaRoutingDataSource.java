@@ -0,0 +1,125 @@
+package com.devu.backend.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+* readOnly 트랜잭션 => 정상 복제본 중 라운드 로빈, 그 외 => primary
+* 복제본은 주기적으로 연결 + 복제 지연 검사, 실패하거나 지연이 크면 정상 복제본이 돌아올 때까지 제외
+* 정상 복제본이 하나도 없으면 읽기도 primary 로
+* LazyConnectionDataSourceProxy 로 감싸서 써야 함 (트랜잭션 시작 시점에는 readOnly 여부가 아직 안 정해짐)
+* */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> healthyReplicas = Collections.emptyList();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, DataSourceRoutingProperties properties) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.put("replica-" + i, replicas.get(i));
+        }
+        this.lagQuery = properties.getLagQuery();
+        this.maxLagSeconds = properties.getMaxLagSeconds();
+        this.validationTimeoutSeconds = properties.getValidationTimeoutSeconds();
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${devu.datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, HikariDataSource> replica : replicas.entrySet()) {
+            if (isHealthy(replica.getKey(), replica.getValue())) {
+                healthy.add(replica.getKey());
+            }
+        }
+        if (!healthy.equals(healthyReplicas)) {
+            log.info("Healthy read replicas : {} / {}", healthy, replicas.keySet());
+        }
+        healthyReplicas = Collections.unmodifiableList(healthy);
+    }
+
+    private boolean isHealthy(String key, HikariDataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(validationTimeoutSeconds)) {
+                log.warn("Read replica {} is not valid", key);
+                return false;
+            }
+            if (!StringUtils.hasText(lagQuery)) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(validationTimeoutSeconds);
+                try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                    //지연 값이 없으면(복제 중단) 비정상
+                    if (!rs.next() || rs.getObject(1) == null) {
+                        log.warn("Read replica {} reports no replication lag", key);
+                        return false;
+                    }
+                    long lag = rs.getLong(1);
+                    if (lag > maxLagSeconds) {
+                        log.warn("Read replica {} is lagging : {}s", key, lag);
+                        return false;
+                    }
+                    return true;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Read replica {} health check failed : {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
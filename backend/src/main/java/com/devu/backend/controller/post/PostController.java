@@ -1,15 +1,18 @@
 package com.devu.backend.controller.post;
 
 import com.devu.backend.common.exception.PostNotFoundException;
+import com.devu.backend.config.auth.UserDetailsImpl;
 import com.devu.backend.controller.ResponseErrorDto;
 import com.devu.backend.entity.post.*;
 import com.devu.backend.repository.post.PostRepository;
+import com.devu.backend.service.LikeService;
 import com.devu.backend.service.PostService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
@@ -23,8 +26,11 @@ import java.util.stream.Collectors;
 @RequestMapping("/community")
 public class PostController {
 
+    public static final String SEARCH_TRUNCATED_HEADER = "X-Search-Truncated";
+
     private final PostService postService;
     private final PostRepository postRepository;
+    private final LikeService likeService;
 
     @GetMapping
     private ResponseEntity home() {
@@ -74,14 +80,23 @@ public class PostController {
     }
 
     //자유 게시판 리스트 get
+    //cursor 파라미터가 있으면 (빈 값 포함) keyset 페이징 => PostCursorResponseDto 응답
     @GetMapping("/chats")
     public ResponseEntity<?> getChats(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
             @PageableDefault(size = 10)Pageable pageable,
             @RequestParam(value = "order",required = false) String order,
-            @RequestParam(value = "s",required = false)String s) {
+            @RequestParam(value = "s",required = false)String s,
+            @RequestParam(value = "cursor",required = false)String cursor) {
         try {
-            List<PostResponseDto> chats = postService.findAllChats(pageable,order,s).getContent();
-            return ResponseEntity.ok(chats);
+            if (cursor != null) {
+                PostCursorResponseDto page = postService.findChatsByCursor(cursor, pageable.getPageSize(), order, s);
+                likeService.markLikedByMe(userId(userDetails), page.getPosts());
+                return ResponseEntity.ok(page);
+            }
+            PostListPage chats = postService.findAllChats(pageable,order,s);
+            likeService.markLikedByMe(userId(userDetails), chats.getContent());
+            return listResponse(chats);
         } catch (Exception e) {
             e.printStackTrace();
             ResponseErrorDto errorDto = ResponseErrorDto.builder()
@@ -94,16 +109,24 @@ public class PostController {
     //스터디 게시판 리스트 get
     @GetMapping("/studies")
     public ResponseEntity<?> getStudies(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
             @PageableDefault(size = 10)Pageable pageable,
             @RequestParam(value = "status",required = false) StudyStatus status,
             @RequestParam(value = "order",required = false) String order,
             @RequestParam(value = "tags",required = false) List<String> tags,
-            @RequestParam(value = "s",required = false)String s
+            @RequestParam(value = "s",required = false)String s,
+            @RequestParam(value = "cursor",required = false)String cursor
     ) {
         try {
             List<String> upperTags = Optional.ofNullable(tags).orElseGet(Collections::emptyList).stream().map(String::toUpperCase).collect(Collectors.toList());
-            List<PostResponseDto> studies = postService.findAllStudies(pageable,status,order,upperTags,s).getContent();
-            return ResponseEntity.ok(studies);
+            if (cursor != null) {
+                PostCursorResponseDto page = postService.findStudiesByCursor(cursor, pageable.getPageSize(), status, order, upperTags, s);
+                likeService.markLikedByMe(userId(userDetails), page.getPosts());
+                return ResponseEntity.ok(page);
+            }
+            PostListPage studies = postService.findAllStudies(pageable,status,order,upperTags,s);
+            likeService.markLikedByMe(userId(userDetails), studies.getContent());
+            return listResponse(studies);
         } catch (Exception e) {
             e.printStackTrace();
             ResponseErrorDto errorDto = ResponseErrorDto.builder()
@@ -116,16 +139,24 @@ public class PostController {
     //질문 게시판 리스트 get
     @GetMapping("/questions")
     public ResponseEntity<?> getQuestions(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
             @PageableDefault(size = 10)Pageable pageable,
             @RequestParam(value = "status",required = false) QuestionStatus status,
             @RequestParam(value = "order",required = false) String order,
             @RequestParam(value = "tags",required = false) List<String> tags,
-            @RequestParam(value = "s",required = false)String s
+            @RequestParam(value = "s",required = false)String s,
+            @RequestParam(value = "cursor",required = false)String cursor
     ) {
         try {
             List<String> upperTags = Optional.ofNullable(tags).orElseGet(Collections::emptyList).stream().map(String::toUpperCase).collect(Collectors.toList());
-            List<PostResponseDto> questions = postService.findAllQuestions(pageable,status,order,upperTags,s).getContent();
-            return ResponseEntity.ok(questions);
+            if (cursor != null) {
+                PostCursorResponseDto page = postService.findQuestionsByCursor(cursor, pageable.getPageSize(), status, order, upperTags, s);
+                likeService.markLikedByMe(userId(userDetails), page.getPosts());
+                return ResponseEntity.ok(page);
+            }
+            PostListPage questions = postService.findAllQuestions(pageable,status,order,upperTags,s);
+            likeService.markLikedByMe(userId(userDetails), questions.getContent());
+            return listResponse(questions);
         } catch (Exception e) {
             e.printStackTrace();
             ResponseErrorDto errorDto = ResponseErrorDto.builder()
@@ -137,9 +168,10 @@ public class PostController {
 
     //자유 게시판 게시글 조회 By Post ID
     @GetMapping("/chats/{id}")
-    public ResponseEntity<?> getChatById(@PathVariable("id") Long id) {
+    public ResponseEntity<?> getChatById(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable("id") Long id) {
         try {
             PostResponseDto chat = postService.findChatById(id);
+            likeService.markLikedByMe(userId(userDetails), List.of(chat));
             return ResponseEntity.ok().body(chat);
         } catch (Exception e) {
             e.printStackTrace();
@@ -152,9 +184,10 @@ public class PostController {
 
     //스터디 게시판 게시글 조회 By Post ID
     @GetMapping("/studies/{id}")
-    public ResponseEntity<?> getStudyById(@PathVariable("id") Long id) {
+    public ResponseEntity<?> getStudyById(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable("id") Long id) {
         try {
             PostResponseDto chat = postService.findStudyById(id);
+            likeService.markLikedByMe(userId(userDetails), List.of(chat));
             return ResponseEntity.ok().body(chat);
         } catch (Exception e) {
             e.printStackTrace();
@@ -167,9 +200,10 @@ public class PostController {
 
     //질문 게시판 게시글 조회 By Post ID
     @GetMapping("/questions/{id}")
-    public ResponseEntity<?> getQuestionById(@PathVariable("id") Long id) {
+    public ResponseEntity<?> getQuestionById(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable("id") Long id) {
         try {
             PostResponseDto chat = postService.findQuestionById(id);
+            likeService.markLikedByMe(userId(userDetails), List.of(chat));
             return ResponseEntity.ok().body(chat);
         } catch (Exception e) {
             e.printStackTrace();
@@ -317,4 +351,17 @@ public class PostController {
             return ResponseEntity.badRequest().body(errorDto);
         }
     }
+
+    //검색 결과가 max-results 에서 잘렸으면 헤더로 알림 (cursor 응답은 body 의 searchTruncated)
+    private ResponseEntity<List<PostResponseDto>> listResponse(PostListPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.isSearchTruncated()) {
+            response.header(SEARCH_TRUNCATED_HEADER, "true");
+        }
+        return response.body(page.getContent());
+    }
+
+    private Long userId(UserDetailsImpl userDetails) {
+        return userDetails == null ? null : userDetails.getId();
+    }
 }
@@ -0,0 +1,19 @@
+package com.devu.backend.controller.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCursorResponseDto {
+    private List<PostResponseDto> posts;
+    private String nextCursor;//다음 페이지 요청 시 cursor 파라미터로 전달, 마지막 페이지면 null
+    private boolean hasNext;
+    private boolean searchTruncated;//검색 결과가 많아 관련도 상위 max-results 개 안에서만 페이징
+}
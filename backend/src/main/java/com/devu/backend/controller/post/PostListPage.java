@@ -0,0 +1,21 @@
+package com.devu.backend.controller.post;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/*
+* 게시글 목록 페이지 + 검색 결과가 max-results 에서 잘렸는지
+* */
+@Getter
+public class PostListPage extends PageImpl<PostResponseDto> {
+
+    private final boolean searchTruncated;
+
+    public PostListPage(List<PostResponseDto> content, Pageable pageable, long total, boolean searchTruncated) {
+        super(content, pageable, total);
+        this.searchTruncated = searchTruncated;
+    }
+}
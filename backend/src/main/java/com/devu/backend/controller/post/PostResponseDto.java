@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostResponseDto {
@@ -27,8 +27,10 @@ public class PostResponseDto {
     private StudyStatus studyStatus;
     private QuestionStatus questionStatus;
     private int commentsSize;//get All 게시글 시 사용
-    private List<CommentResponseDto> comments;// 추후 CommentResponseDto로 변경 필요
+    private List<CommentResponseDto> comments;//상세 조회 시 첫 페이지만
+    private String nextCommentCursor;//나머지 댓글은 GET /api/posts/{id}/comments?cursor= 로 조회, 마지막 페이지면 null
     private List<String> tags;
     private LocalDateTime createAt;
     private LocalDateTime lastModifiedAt;
+    private Boolean likedByMe;//로그인 사용자가 좋아요 했는지, 비로그인이면 null
 }
@@ -1,11 +1,13 @@
 package com.devu.backend.controller.user;
 
+import com.devu.backend.common.exception.PasswordHashingBusyException;
 import com.devu.backend.controller.ResponseErrorDto;
 import com.devu.backend.entity.User;
 import com.devu.backend.service.UserService;
 import com.devu.backend.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -104,6 +106,13 @@ public class UserController {
             UserDTO responseUserDTO = userService.loginProcess(userDTO, user, response);
             log.info("username : {} -> 로그인 성공", user.getUsername());
             return ResponseEntity.ok().body(responseUserDTO);
+        } catch (PasswordHashingBusyException e) {
+            //로그인이 몰려 대기열이 찬 경우 => 재시도 가능하도록 503
+            log.warn(e.getMessage());
+            ResponseErrorDto errorDto = ResponseErrorDto.builder()
+                    .error(e.getMessage())
+                    .build();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(errorDto);
         } catch (Exception e) {
             log.warn(e.getMessage());
             ResponseErrorDto errorDto = ResponseErrorDto.builder()
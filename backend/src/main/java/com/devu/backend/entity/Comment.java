@@ -14,6 +14,10 @@ import javax.persistence.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_post_group", columnList = "post_post_id, groupNum, id"),
+        @Index(name = "idx_comment_group", columnList = "groupNum, id")
+})
 public class Comment extends BaseTime{
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,6 +31,11 @@ public class Comment extends BaseTime{
     private Long groupNum;
 
     private String parent;
+
+    //원댓글의 답글 수 => 증감은 CommentRepository 원자적 UPDATE 로만
+    @Builder.Default
+    @Column(name = "reply_count", nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long replyCount = 0L;
     /*
     * comment 작성 할때만, User and Post 영속성 전이를 통해 Persist
     * */
@@ -46,6 +55,10 @@ public class Comment extends BaseTime{
         this.groupNum = group;
     }
 
+    public boolean isRoot() {
+        return id != null && id.equals(groupNum);
+    }
+
     public void updateDeleted() {
         this.deleted = true;
     }
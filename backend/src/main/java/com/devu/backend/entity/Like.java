@@ -13,9 +13,16 @@ import javax.persistence.*;
 @AllArgsConstructor
 @Getter
 @Builder
-@Table(name = "likes")
+@Table(name = "likes", uniqueConstraints =
+        {@UniqueConstraint(
+                name = Like.UNIQUE_USER_POST,
+                columnNames = {"user_id", "post_id"})
+        })
 @Entity
 public class Like {
+    //동시 중복 클릭 판단에 사용 (LikeService)
+    public static final String UNIQUE_USER_POST = "UK_LIKES_USER_POST";
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -1,13 +1,18 @@
 package com.devu.backend.entity;
 
+import com.devu.backend.config.HibernateCacheConfig;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.POSITION_REGION)
 @Getter @Builder
 @AllArgsConstructor @NoArgsConstructor
 public class Position {
@@ -1,9 +1,12 @@
 package com.devu.backend.entity;
 
+import com.devu.backend.config.HibernateCacheConfig;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -14,6 +17,8 @@ import java.util.List;
 @Builder
 @Getter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TAG_REGION)
 public class Tag {
 
     @Id
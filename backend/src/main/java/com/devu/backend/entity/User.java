@@ -1,9 +1,12 @@
 package com.devu.backend.entity;
 
+import com.devu.backend.config.HibernateCacheConfig;
 import com.devu.backend.entity.post.Post;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -13,6 +16,8 @@ import java.util.List;
 //TODO : XtoOne 연관관계는 모두 LAZY로
 @Getter
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_REGION)
 @Table(name = "users",uniqueConstraints =
         {@UniqueConstraint(
                 name = "USERNAME_UNIQUE",
@@ -4,6 +4,7 @@ import com.devu.backend.controller.post.PostRequestUpdateDto;
 import com.devu.backend.entity.*;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -11,10 +12,14 @@ import java.util.List;
 
 @Entity
 @Getter
-@AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @DiscriminatorColumn(name = "dtype")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@Table(indexes = {
+        @Index(name = "idx_post_dtype_create_at", columnList = "dtype, createAt, post_id"),
+        @Index(name = "idx_post_dtype_like_count", columnList = "dtype, like_count, post_id"),
+        @Index(name = "idx_post_dtype_comment_count", columnList = "dtype, comment_count, post_id")
+})
 public class Post extends BaseTime{
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,27 +35,49 @@ public class Post extends BaseTime{
 
     private String content;
 
-    @Column(name = "hit_count")
+    //조회수 증가는 HitCountBuffer 배치 UPDATE 로만 => dirty checking 으로 덮어쓰지 않도록 updatable = false
+    @Column(name = "hit_count", updatable = false)
     private Long hit;
 
+    /*
+    * 좋아요, 댓글 수 비정규화 컬럼
+    * 증감은 PostRepository 벌크 업데이트로만 => 엔티티 dirty checking 시 덮어쓰지 않도록 updatable = false
+    * */
+    @Column(name = "like_count", nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long likeCount = 0L;
+
+    @Column(name = "comment_count", nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long commentCount = 0L;
+
     @OneToMany(mappedBy = "post",cascade = CascadeType.ALL)
     private List<Like> likes = new ArrayList<>();
 
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL)
     private List<Comment> comments = new ArrayList<>();
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "post",cascade = CascadeType.ALL)
     private List<Image> images = new ArrayList<>();
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PostTag> postTags = new ArrayList<>();
 
 
-    //==비지니스 로직==//
-    public void plusHit() {
-        this.hit++;
+    public Post(Long id, User user, String title, String content, Long hit,
+                List<Like> likes, List<Comment> comments, List<Image> images, List<PostTag> postTags) {
+        this.id = id;
+        this.user = user;
+        this.title = title;
+        this.content = content;
+        this.hit = hit;
+        this.likes = likes;
+        this.comments = comments;
+        this.images = images;
+        this.postTags = postTags;
     }
 
+    //==비지니스 로직==//
     public void updatePost(PostRequestUpdateDto updateDto) {
         this.title = updateDto.getTitle();
         this.content = updateDto.getContent();
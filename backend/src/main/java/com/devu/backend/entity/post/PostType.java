@@ -0,0 +1,23 @@
+package com.devu.backend.entity.post;
+
+import org.hibernate.Hibernate;
+
+public enum PostType {
+    CHAT,
+    STUDY,
+    QUESTION;
+
+    /*
+    * 프록시로 조회된 Post도 실제 타입으로 판별
+    * */
+    public static PostType of(Post post) {
+        Object target = Hibernate.unproxy(post);
+        if (target instanceof Study) {
+            return STUDY;
+        }
+        if (target instanceof Question) {
+            return QUESTION;
+        }
+        return CHAT;
+    }
+}
@@ -4,11 +4,36 @@ import com.devu.backend.entity.Like;
 import com.devu.backend.entity.User;
 import com.devu.backend.entity.post.Post;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Long> {
     Optional<Like> findByUserAndPost(User user, Post post);
+
+    @Query("select l.post.id from Like l where l.user.id = :userId")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId);
+
+    /*
+    * 좋아요 토글 => 엔티티 로딩 없이 삭제를 먼저 시도, 지운 행이 없으면 insert
+    * (user_id, post_id) unique => 동시에 두 번 눌러도 행은 하나
+    * */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Like l where l.user.id = :userId and l.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    //query space 를 지정하지 않은 native 수정 쿼리는 2차 캐시 전체를 비움 => likes 만 무효화
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "likes"))
+    @Query(value = "insert into likes (user_id, post_id) values (:userId, :postId)", nativeQuery = true)
+    int insertLike(@Param("userId") Long userId, @Param("postId") Long postId);
 }
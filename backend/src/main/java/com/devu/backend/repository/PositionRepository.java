@@ -5,9 +5,21 @@ import com.devu.backend.entity.Position;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 public interface PositionRepository extends JpaRepository<Position, Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Page<Position> findByCompany(CompanyType company, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     long countByCompany(CompanyType company);
+
+    //재수집(deleteAll + save) 시 position 테이블 변경 => 캐시된 목록 자동 무효화
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Page<Position> findAll(Pageable pageable);
 }
@@ -0,0 +1,9 @@
+package com.devu.backend.repository;
+
+/*
+* post_tag 테이블의 (post_id, tag_id) 쌍만 읽기 위한 프로젝션
+* */
+public interface PostTagPair {
+    Long getPostId();
+    Long getTagId();
+}
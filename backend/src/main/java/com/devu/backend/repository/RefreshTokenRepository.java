@@ -2,7 +2,21 @@ package com.devu.backend.repository;
 
 import com.devu.backend.config.auth.token.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    RefreshToken findByRefreshToken(String refreshToken);
+    boolean existsByTokenDigestAndExpiresAtAfter(String tokenDigest, LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenDigest = :tokenDigest")
+    int deleteByTokenDigest(@Param("tokenDigest") String tokenDigest);
+
+    //expiresAt 이 없는 행 => digest 저장 이전에 만든 원문 토큰, 더 이상 조회되지 않으므로 같이 삭제
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt is null or r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
 }
@@ -2,11 +2,27 @@ package com.devu.backend.repository;
 
 import com.devu.backend.entity.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findTagByName(String name);
+
+    List<Tag> findAllByNameIn(Collection<String> names);
+
+    //잠금 읽기 => REPEATABLE READ 스냅샷이 아닌 최신 커밋 값을 읽음 (다른 요청이 방금 만든 태그 포함)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select t from Tag t where t.name in :names")
+    List<Tag> findAllByNameInForShare(@Param("names") Collection<String> names);
+
+    @Query("select pt.post.id as postId, pt.tag.id as tagId from PostTag pt")
+    List<PostTagPair> findAllPostTagPairs();
 }
@@ -2,20 +2,31 @@ package com.devu.backend.repository;
 
 import com.devu.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+/*
+* username/email 조회는 쿼리 캐시 => users 테이블이 바뀌면 Hibernate 가 결과를 무효화
+* */
 @Repository
 public interface UserRepository extends JpaRepository<User,Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Boolean existsByEmail(String email);
 
     Optional<User> findByEmailAuthKey(String authKey);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Boolean existsByUsername(String username);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
 }
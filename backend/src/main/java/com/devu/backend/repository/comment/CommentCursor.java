@@ -0,0 +1,49 @@
+package com.devu.backend.repository.comment;
+
+import com.devu.backend.common.exception.CursorNotValidException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+* 댓글 keyset 페이징 커서 => 마지막 행의 (groupNum, id)
+* 클라이언트에는 "groupNum|id" 를 base64url 로 감싼 불투명 토큰으로 전달
+* */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CommentCursor {
+    private static final String DELIMITER = "|";
+
+    private final Long groupNum;
+    private final Long id;
+
+    public static CommentCursor of(Long groupNum, Long id) {
+        return new CommentCursor(groupNum, id);
+    }
+
+    public String encode() {
+        String raw = groupNum + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //빈 토큰 => 첫 페이지 (null 반환)
+    public static CommentCursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                throw new CursorNotValidException();
+            }
+            return new CommentCursor(Long.valueOf(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new CursorNotValidException();
+        }
+    }
+}
@@ -2,10 +2,17 @@ package com.devu.backend.repository.comment;
 
 import com.devu.backend.entity.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
 public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryExtension {
     List<Comment> findAllByPostIdOrderByCreateAt(Long postId);
 
@@ -14,4 +21,40 @@ public interface CommentRepository extends JpaRepository<Comment, Long>, Comment
     long countByGroupNum(Long groupNum);
 
     Optional<Comment> findByUserId(Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Comment c set c.replyCount = c.replyCount + 1 where c.id = :id")
+    int increaseReplyCount(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Comment c set c.replyCount = c.replyCount - 1 where c.id = :id and c.replyCount > 0")
+    int decreaseReplyCount(@Param("id") Long id);
+
+    /*
+    * 답글이 없는 원댓글만 삭제 => 0 이면 그 사이 답글이 달린 것 (soft delete 로 처리)
+    * */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Comment c where c.id = :id and c.replyCount = 0")
+    int deleteIfNoReplies(@Param("id") Long id);
+
+    //soft delete 된 원댓글의 마지막 답글이 지워졌을 때 원댓글 정리
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Comment c where c.id = :id and c.deleted = true and c.replyCount = 0")
+    int deleteIfDeletedWithoutReplies(@Param("id") Long id);
+
+    /*
+    * 원댓글 답글 수 보정 => id 구간 단위로 실제 답글 행 수로 덮어씀
+    * MySQL 은 UPDATE 대상 테이블을 서브쿼리에서 직접 읽을 수 없어 파생 테이블로 감쌈
+    * */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "comment"))
+    @Query(value = "update comment c set c.reply_count = (" +
+            " select count(*) from (select r.group_num from comment r" +
+            " where r.group_num between :fromId and :toId and r.id <> r.group_num) g" +
+            " where g.group_num = c.id)" +
+            " where c.id between :fromId and :toId and c.group_num = c.id", nativeQuery = true)
+    int reconcileReplyCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select max(c.id) from Comment c")
+    Long findMaxId();
 }
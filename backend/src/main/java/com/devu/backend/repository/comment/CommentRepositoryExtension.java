@@ -3,10 +3,15 @@ package com.devu.backend.repository.comment;
 import com.devu.backend.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional(readOnly = true)
 public interface CommentRepositoryExtension {
 
     Page<Comment> findByPostId(Long postId, Pageable pageable);
+
+    Slice<Comment> findByPostIdAndCursor(Long postId, CommentCursor cursor, int size);
+
+    Slice<Comment> findRepliesByCursor(Long groupNum, CommentCursor cursor, int size);
 }
@@ -2,11 +2,16 @@ package com.devu.backend.repository.comment;
 
 import com.devu.backend.entity.Comment;
 import com.devu.backend.entity.QComment;
+import com.devu.backend.entity.QUser;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.support.PageableExecutionUtils;
 
 import java.util.List;
@@ -35,4 +40,56 @@ public class CommentRepositoryExtensionImpl implements CommentRepositoryExtensio
 
         return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchCount);
     }
+
+    /*
+    * 게시글 댓글 스레드 => (groupNum, id) 순서라 원댓글 뒤에 답글이 이어짐
+    * 작성자는 fetch join 으로 한 번에 가져옴 (댓글마다 User 지연 로딩 방지)
+    * */
+    @Override
+    public Slice<Comment> findByPostIdAndCursor(Long postId, CommentCursor cursor, int size) {
+        QComment comment = QComment.comment;
+        List<Comment> fetch = queryFactory
+                .selectFrom(comment)
+                .join(comment.user, QUser.user).fetchJoin()
+                .where(
+                        comment.post.id.eq(postId),
+                        threadAfter(comment, cursor)
+                )
+                .orderBy(comment.groupNum.asc(), comment.id.asc())
+                .limit(size + 1)
+                .fetch();
+        return toSlice(fetch, size);
+    }
+
+    //원댓글 하나의 답글만 id 순으로
+    @Override
+    public Slice<Comment> findRepliesByCursor(Long groupNum, CommentCursor cursor, int size) {
+        QComment comment = QComment.comment;
+        List<Comment> fetch = queryFactory
+                .selectFrom(comment)
+                .join(comment.user, QUser.user).fetchJoin()
+                .where(
+                        comment.groupNum.eq(groupNum),
+                        comment.id.ne(groupNum),
+                        cursor == null ? null : comment.id.gt(cursor.getId())
+                )
+                .orderBy(comment.id.asc())
+                .limit(size + 1)
+                .fetch();
+        return toSlice(fetch, size);
+    }
+
+    private BooleanExpression threadAfter(QComment comment, CommentCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return comment.groupNum.gt(cursor.getGroupNum())
+                .or(comment.groupNum.eq(cursor.getGroupNum()).and(comment.id.gt(cursor.getId())));
+    }
+
+    private <T> Slice<T> toSlice(List<T> fetch, int size) {
+        boolean hasNext = fetch.size() > size;
+        List<T> content = hasNext ? fetch.subList(0, size) : fetch;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
 }
@@ -0,0 +1,11 @@
+package com.devu.backend.repository.post;
+
+/*
+* 게시글 카드의 조회수, 좋아요, 댓글 수만 읽기 위한 프로젝션
+* */
+public interface PostCounterRow {
+    Long getPostId();
+    Long getHit();
+    Long getLikeCount();
+    Long getCommentCount();
+}
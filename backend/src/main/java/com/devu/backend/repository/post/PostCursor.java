@@ -0,0 +1,80 @@
+package com.devu.backend.repository.post;
+
+import com.devu.backend.common.exception.CursorNotValidException;
+import com.devu.backend.common.exception.OrderNotFoundException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/*
+* keyset 페이징 커서 => 마지막 행의 (정렬 키, id)
+* 최신순 => (createAt, id), likes/comments => (count, id)
+* 클라이언트에는 "order|key|id" 를 base64url 로 감싼 불투명 토큰으로 전달
+* */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PostCursor {
+    private static final String DELIMITER = "|";
+
+    private final String order;
+    private final LocalDateTime createAt;
+    private final Long count;
+    private final Long id;
+
+    //DB timestamp 정밀도(마이크로초)에 맞춰야 경계 행이 중복/누락되지 않음
+    public static PostCursor ofCreateAt(LocalDateTime createAt, Long id) {
+        return new PostCursor(null, createAt.truncatedTo(ChronoUnit.MICROS), null, id);
+    }
+
+    public static PostCursor ofCount(String order, Long count, Long id) {
+        return new PostCursor(order, null, count, id);
+    }
+
+    public boolean isCreateAtOrder() {
+        return !StringUtils.hasText(order);
+    }
+
+    public String encode() {
+        String key = isCreateAtOrder() ? createAt.toString() : count.toString();
+        String raw = (isCreateAtOrder() ? "" : order) + DELIMITER + key + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+    * 빈 토큰 => 첫 페이지 (null 반환)
+    * 요청한 정렬 방식과 커서의 정렬 방식이 다르면 예외
+    * */
+    public static PostCursor decode(String token, String order) {
+        validateOrder(order);
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(StringUtils.hasText(order) ? order : "")) {
+                throw new CursorNotValidException();
+            }
+            Long id = Long.valueOf(parts[2]);
+            if (parts[0].isEmpty()) {
+                return ofCreateAt(LocalDateTime.parse(parts[1]), id);
+            }
+            return ofCount(parts[0], Long.valueOf(parts[1]), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorNotValidException();
+        }
+    }
+
+    private static void validateOrder(String order) {
+        if (StringUtils.hasText(order) && !order.equals("likes") && !order.equals("comments")) {
+            throw new OrderNotFoundException();
+        }
+    }
+}
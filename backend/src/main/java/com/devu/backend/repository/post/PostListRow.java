@@ -0,0 +1,32 @@
+package com.devu.backend.repository.post;
+
+import com.devu.backend.entity.post.QuestionStatus;
+import com.devu.backend.entity.post.StudyStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+* 게시글 목록 한 줄에 필요한 값만 담은 프로젝션
+* 엔티티 연관관계(user, postTags, likes, comments)를 지연 로딩하지 않고 조회 쿼리에서 바로 채움
+* */
+@Getter
+@Builder
+@AllArgsConstructor
+public class PostListRow {
+    private Long id;
+    private String title;
+    private String content;
+    private String username;
+    private Long hit;
+    private Long likeCount;
+    private Long commentCount;
+    private StudyStatus studyStatus;
+    private QuestionStatus questionStatus;
+    private LocalDateTime createAt;
+    private LocalDateTime lastModifiedAt;
+    private List<String> tags;//chat => null
+}
@@ -4,11 +4,15 @@ import com.devu.backend.entity.User;
 import com.devu.backend.entity.post.*;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +24,23 @@ public interface PostRepository extends JpaRepository<Post, Long> ,PostRepositor
 
     Optional<Study> findStudyById(Long id);
 
+    /*
+    * 상세 조회용 => 작성자, 태그를 한 번에 fetch join
+    * images 는 같은 쿼리에 묶으면 컬렉션 두 개를 동시에 fetch 할 수 없어 @BatchSize 로 한 번 더 조회
+    * 댓글은 CommentService 커서 페이지 (작성자 fetch join), 좋아요는 likeCount 컬럼
+    * */
+    @EntityGraph(attributePaths = {"user", "postTags", "postTags.tag"})
+    @Query("select c from Chat c where c.id = :id")
+    Optional<Chat> findChatDetailById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"user", "postTags", "postTags.tag"})
+    @Query("select s from Study s where s.id = :id")
+    Optional<Study> findStudyDetailById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"user", "postTags", "postTags.tag"})
+    @Query("select q from Question q where q.id = :id")
+    Optional<Question> findQuestionDetailById(@Param("id") Long id);
+
     Optional<List<Chat>> findTop3ChatByOrderByHitDesc();
 
     Optional<List<Study>> findTop3StudyByOrderByHitDesc();
@@ -27,9 +48,8 @@ public interface PostRepository extends JpaRepository<Post, Long> ,PostRepositor
     Optional<List<Question>> findTop3QuestionByOrderByHitDesc();
 
     @Query(value = "select p from Post p" +
-            " left join Like l on p.id = l.post.id " +
             " where Type(p) IN(Chat)" +
-            " group by p.id order by count(l.post.id) desc")
+            " order by p.likeCount desc, p.id desc")
     Optional<List<Chat>> findTop3ChatByOrderByLikes(Pageable pageable);
 
     /*
@@ -40,9 +60,8 @@ public interface PostRepository extends JpaRepository<Post, Long> ,PostRepositor
     }
 
     @Query(value = "select p from Post p" +
-            " left join Like l on p.id = l.post.id " +
             " where Type(p) IN(Study)" +
-            " group by p.id order by count(l.post.id) desc")
+            " order by p.likeCount desc, p.id desc")
     Optional<List<Study>> findTop3StudyByOrderByLikes(Pageable pageable);
 
     default Optional<List<Study>> findTop3StudyByOrderByLikes() {
@@ -50,23 +69,75 @@ public interface PostRepository extends JpaRepository<Post, Long> ,PostRepositor
     }
 
     @Query(value = "select p from Post p" +
-            " left join Like l on p.id = l.post.id " +
             " where Type(p) IN(Question )" +
-            " group by p.id order by count(l.post.id) desc")
+            " order by p.likeCount desc, p.id desc")
     Optional<List<Question>> findTop3QuestionByOrderByLikes(Pageable pageable);
 
     default Optional<List<Question>> findTop3QuestionByOrderByLikes() {
         return findTop3QuestionByOrderByLikes(PageRequest.of(0,3));
     }
 
-    @Query("select c from Chat c")
-    List<Chat> findAllChatsWithoutSorting();
+    Slice<Post> findAllBy(Pageable pageable);
+
+    /*
+    * 좋아요, 댓글 수 증감 => 읽고 쓰는 대신 한 문장으로 원자적으로 처리
+    * */
+    @Query("select p.likeCount from Post p where p.id = :id")
+    Optional<Long> findLikeCountById(@Param("id") Long id);
+
+    @Query("select p.hit from Post p where p.id = :id")
+    Optional<Long> findHitById(@Param("id") Long id);
+
+    //여러 게시글 카운터를 한 번에 조회 (게시글 카드마다 /api/hits, /api/like 호출하던 것 대체)
+    @Query("select p.id as postId, p.hit as hit, p.likeCount as likeCount, p.commentCount as commentCount from Post p where p.id in :ids")
+    List<PostCounterRow> findCountersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Post p set p.likeCount = p.likeCount + 1 where p.id = :id")
+    int increaseLikeCount(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Post p set p.likeCount = p.likeCount - 1 where p.id = :id and p.likeCount > 0")
+    int decreaseLikeCount(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Post p set p.commentCount = p.commentCount + 1 where p.id = :id")
+    int increaseCommentCount(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Post p set p.commentCount = p.commentCount - :count where p.id = :id and p.commentCount >= :count")
+    int decreaseCommentCount(@Param("id") Long id, @Param("count") long count);
+
+    /*
+    * 비정규화 카운터 보정 => id 구간 단위로 실제 likes, comment 행 수로 덮어씀
+    * */
+    @Modifying
+    @Query("update Post p" +
+            " set p.likeCount = (select count(l) from Like l where l.post.id = p.id)," +
+            " p.commentCount = (select count(c) from Comment c where c.post.id = p.id)" +
+            " where p.id between :fromId and :toId")
+    int reconcileCounters(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select max(p.id) from Post p")
+    Long findMaxId();
+
+    @Query("select c.id as id, c.createAt as createAt, c.hit as hit, c.likeCount as likeCount from Chat c")
+    List<PostScoreView> findChatScores();
+
+    @Query("select s.id as id, s.createAt as createAt, s.hit as hit, s.likeCount as likeCount from Study s")
+    List<PostScoreView> findStudyScores();
+
+    @Query("select q.id as id, q.createAt as createAt, q.hit as hit, q.likeCount as likeCount from Question q")
+    List<PostScoreView> findQuestionScores();
+
+    @Query("select count(c) from Chat c")
+    long countAllChats();
 
-    @Query("select s from Study s")
-    List<Study> findAllStudiesWithoutSorting();
+    @Query("select count(s) from Study s")
+    long countAllStudies();
 
-    @Query("select q from Question q")
-    List<Question> findAllQuestionsWithoutSorting();
+    @Query("select count(q) from Question q")
+    long countAllQuestions();
 
     Optional<List<Chat>> findAllChatsByUser(User user);
     Optional<List<Study>> findAllStudiesByUser(User user);
@@ -5,9 +5,27 @@ import com.devu.backend.entity.post.Question;
 import com.devu.backend.entity.post.Study;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface PostRepositoryExtension {
     Page<Study> findAllStudies(Pageable pageable, PostSearch postSearch);
     Page<Chat> findAllChats(Pageable pageable, PostSearch postSearch);
     Page<Question> findAllQuestions(Pageable pageable, PostSearch postSearch);
+
+    //cursor == null => 첫 페이지
+    Slice<Chat> findChatsByCursor(PostCursor cursor, int size, PostSearch postSearch);
+    Slice<Study> findStudiesByCursor(PostCursor cursor, int size, PostSearch postSearch);
+    Slice<Question> findQuestionsByCursor(PostCursor cursor, int size, PostSearch postSearch);
+
+    //목록 전체 개수, 엔티티를 읽지 않고 COUNT 만 수행
+    long countChats(PostSearch postSearch);
+    long countStudies(PostSearch postSearch);
+    long countQuestions(PostSearch postSearch);
+
+    //목록 화면용 프로젝션, 전달한 id 순서 유지
+    List<PostListRow> findChatRows(List<Long> postIds);
+    List<PostListRow> findStudyRows(List<Long> postIds);
+    List<PostListRow> findQuestionRows(List<Long> postIds);
 }
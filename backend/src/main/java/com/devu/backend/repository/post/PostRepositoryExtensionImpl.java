@@ -1,21 +1,30 @@
 package com.devu.backend.repository.post;
 
 import com.devu.backend.common.exception.OrderNotFoundException;
-import com.devu.backend.entity.QPostTag;
 import com.devu.backend.entity.post.*;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.util.StringUtils;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import static com.devu.backend.entity.QComment.comment;
-import static com.devu.backend.entity.QLike.like;
 import static com.devu.backend.entity.QPostTag.postTag;
+import static com.devu.backend.entity.QTag.tag;
+import static com.devu.backend.entity.QUser.user;
 import static com.devu.backend.entity.post.QChat.chat;
 import static com.devu.backend.entity.post.QQuestion.question;
 import static com.devu.backend.entity.post.QStudy.study;
@@ -27,14 +36,27 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
     @Override
     public Page<Chat> findAllChats(Pageable pageable, PostSearch postSearch) {
         QChat chat = QChat.chat;
+        if (isEmptySearch(postSearch)) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        if (isRelevanceOrder(postSearch)) {
+            List<Long> filtered = queryFactory
+                    .select(chat.id)
+                    .from(chat)
+                    .where(
+                            chatSearchCond(postSearch)
+                    )
+                    .fetch();
+            return fetchByRelevance(pageable, postSearch.getPostIds(), filtered,
+                    ids -> queryFactory.selectFrom(chat).where(chat.id.in(ids)).fetch());
+        }
         if (!StringUtils.hasText(postSearch.getOrder())) {
             List<Chat> fetch = queryFactory
                     .select(chat)
                     .from(chat)
                     .where(
-                            chatTitleContains(postSearch.getSentence())
+                            chatSearchCond(postSearch)
                     )
-                    .groupBy(chat.id)
                     .orderBy(chat.createAt.desc())
                     .offset(pageable.getOffset())
                     .limit(pageable.getPageSize())
@@ -45,12 +67,10 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
             List<Chat> fetch = queryFactory
                     .select(chat)
                     .from(chat)
-                    .leftJoin(chat.likes,like)
                     .where(
-                            chatTitleContains(postSearch.getSentence())
+                            chatSearchCond(postSearch)
                     )
-                    .groupBy(chat.id)
-                    .orderBy(like.post.id.count().desc())
+                    .orderBy(chat.likeCount.desc(), chat.id.desc())
                     .offset(pageable.getOffset())
                     .limit(pageable.getPageSize())
                     .fetch();
@@ -59,12 +79,10 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
             List<Chat> fetch = queryFactory
                     .select(chat)
                     .from(chat)
-                    .leftJoin(chat.comments, comment)
                     .where(
-                            chatTitleContains(postSearch.getSentence())
+                            chatSearchCond(postSearch)
                     )
-                    .groupBy(chat.id)
-                    .orderBy(comment.post.id.count().desc())
+                    .orderBy(chat.commentCount.desc(), chat.id.desc())
                     .offset(pageable.getOffset())
                     .limit(pageable.getPageSize())
                     .fetch();
@@ -76,20 +94,29 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
     @Override
     public Page<Study> findAllStudies(Pageable pageable, PostSearch postSearch) {
         QStudy study = QStudy.study;
-        QPostTag postTag = QPostTag.postTag;
+        if (isEmptySearch(postSearch)) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        if (isRelevanceOrder(postSearch)) {
+            List<Long> filtered = tagFilter(queryFactory
+                    .select(study.id)
+                    .from(study), study.id, postSearch)
+                    .where(
+                            studyStatusEq(postSearch.getStudyStatus()),
+                            studySearchCond(postSearch)
+                    )
+                    .fetch();
+            return fetchByRelevance(pageable, postSearch.getPostIds(), filtered,
+                    ids -> queryFactory.selectFrom(study).where(study.id.in(ids)).fetch());
+        }
         if (!StringUtils.hasText(postSearch.getOrder())) {
-            List<Study> fetch = queryFactory
+            List<Study> fetch = tagFilter(queryFactory
                     .select(study)
-                    .from(study)
-                    .innerJoin(postTag)
-                    .on(study.id.eq(postTag.post.id))
+                    .from(study), study.id, postSearch)
                     .where(
-                            tagIn(postSearch.getTagId()),
                             studyStatusEq(postSearch.getStudyStatus()),
-                            studyTitleContains(postSearch.getSentence())
+                            studySearchCond(postSearch)
                     )
-                    .groupBy(study.id)
-                    .having(sizeEq((long) postSearch.getTagId().size()))
                     .orderBy(study.createAt.desc())
                     .offset(pageable.getOffset())
                     .limit(pageable.getPageSize())
@@ -97,40 +124,28 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
 
             return new PageImpl<>(fetch, pageable, fetch.size());
         } else if (postSearch.getOrder().equals("likes")) {
-            List<Study> fetch = queryFactory
+            List<Study> fetch = tagFilter(queryFactory
                     .select(study)
-                    .from(study)
-                    .innerJoin(postTag)
-                    .on(study.id.eq(postTag.post.id))
-                    .leftJoin(study.likes,like)
+                    .from(study), study.id, postSearch)
                     .where(
-                            tagIn(postSearch.getTagId()),
                             studyStatusEq(postSearch.getStudyStatus()),
-                            studyTitleContains(postSearch.getSentence())
+                            studySearchCond(postSearch)
                     )
-                    .groupBy(study.id)
-                    .having(sizeEq((long) postSearch.getTagId().size()))
-                    .orderBy(like.post.id.count().desc())
+                    .orderBy(study.likeCount.desc(), study.id.desc())
                     .offset(pageable.getOffset())
                     .limit(pageable.getPageSize())
                     .fetch();
 
             return new PageImpl<>(fetch, pageable, fetch.size());
         } else if (postSearch.getOrder().equals("comments")) {
-            List<Study> fetch = queryFactory
+            List<Study> fetch = tagFilter(queryFactory
                     .select(study)
-                    .from(study)
-                    .innerJoin(postTag)
-                    .on(study.id.eq(postTag.post.id))
-                    .leftJoin(study.comments,comment)
+                    .from(study), study.id, postSearch)
                     .where(
-                            tagIn(postSearch.getTagId()),
                             studyStatusEq(postSearch.getStudyStatus()),
-                            studyTitleContains(postSearch.getSentence())
+                            studySearchCond(postSearch)
                     )
-                    .groupBy(study.id)
-                    .having(sizeEq((long) postSearch.getTagId().size()))
-                    .orderBy(comment.post.id.count().desc())
+                    .orderBy(study.commentCount.desc(), study.id.desc())
                     .offset(pageable.getOffset())
                     .limit(pageable.getPageSize())
                     .fetch();
@@ -143,20 +158,29 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
     @Override
     public Page<Question> findAllQuestions(Pageable pageable, PostSearch postSearch) {
         QQuestion question = QQuestion.question;
-        QPostTag postTag = QPostTag.postTag;
+        if (isEmptySearch(postSearch)) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        if (isRelevanceOrder(postSearch)) {
+            List<Long> filtered = tagFilter(queryFactory
+                    .select(question.id)
+                    .from(question), question.id, postSearch)
+                    .where(
+                            questionStatusEq(postSearch.getQuestionStatus()),
+                            questionSearchCond(postSearch)
+                    )
+                    .fetch();
+            return fetchByRelevance(pageable, postSearch.getPostIds(), filtered,
+                    ids -> queryFactory.selectFrom(question).where(question.id.in(ids)).fetch());
+        }
         if (!StringUtils.hasText(postSearch.getOrder())) {
-            List<Question> fetch = queryFactory
+            List<Question> fetch = tagFilter(queryFactory
                     .select(question)
-                    .from(question)
-                    .innerJoin(postTag)
-                    .on(question.id.eq(postTag.post.id))
+                    .from(question), question.id, postSearch)
                     .where(
-                            tagIn(postSearch.getTagId()),
                             questionStatusEq(postSearch.getQuestionStatus()),
-                            questionTitleContains(postSearch.getSentence())
+                            questionSearchCond(postSearch)
                     )
-                    .groupBy(question.id)
-                    .having(sizeEq((long) postSearch.getTagId().size()))
                     .orderBy(question.createAt.desc())
                     .offset(pageable.getOffset())
                     .limit(pageable.getPageSize())
@@ -164,40 +188,28 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
 
             return new PageImpl<>(fetch, pageable, fetch.size());
         } else if (postSearch.getOrder().equals("likes")) {
-            List<Question> fetch = queryFactory
+            List<Question> fetch = tagFilter(queryFactory
                     .select(question)
-                    .from(question)
-                    .innerJoin(postTag)
-                    .on(question.id.eq(postTag.post.id))
-                    .leftJoin(question.likes,like)
+                    .from(question), question.id, postSearch)
                     .where(
-                            tagIn(postSearch.getTagId()),
                             questionStatusEq(postSearch.getQuestionStatus()),
-                            questionTitleContains(postSearch.getSentence())
+                            questionSearchCond(postSearch)
                     )
-                    .groupBy(question.id)
-                    .having(sizeEq((long) postSearch.getTagId().size()))
-                    .orderBy(like.post.id.count().desc())
+                    .orderBy(question.likeCount.desc(), question.id.desc())
                     .offset(pageable.getOffset())
                     .limit(pageable.getPageSize())
                     .fetch();
 
             return new PageImpl<>(fetch, pageable, fetch.size());
         }else if (postSearch.getOrder().equals("comments")){
-            List<Question> fetch = queryFactory
+            List<Question> fetch = tagFilter(queryFactory
                     .select(question)
-                    .from(question)
-                    .innerJoin(postTag)
-                    .on(question.id.eq(postTag.post.id))
-                    .leftJoin(question.comments,comment)
+                    .from(question), question.id, postSearch)
                     .where(
-                            tagIn(postSearch.getTagId()),
                             questionStatusEq(postSearch.getQuestionStatus()),
-                            questionTitleContains(postSearch.getSentence())
+                            questionSearchCond(postSearch)
                     )
-                    .groupBy(question.id)
-                    .having(sizeEq((long) postSearch.getTagId().size()))
-                    .orderBy(comment.post.id.count().desc())
+                    .orderBy(question.commentCount.desc(), question.id.desc())
                     .offset(pageable.getOffset())
                     .limit(pageable.getPageSize())
                     .fetch();
@@ -207,6 +219,327 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
         throw new OrderNotFoundException();
     }
 
+    /*
+    * keyset 페이징 => offset 없이 마지막 행의 (정렬 키, id) 이후만 조회
+    * 정렬 키가 같은 행은 id 내림차순으로 구분, size + 1 개를 읽어 다음 페이지 여부 판단
+    * 관련도 순은 커서로 표현할 수 없으므로 검색 결과 안에서 최신순으로 페이징
+    * */
+    @Override
+    public Slice<Chat> findChatsByCursor(PostCursor cursor, int size, PostSearch postSearch) {
+        QChat chat = QChat.chat;
+        if (isEmptySearch(postSearch)) {
+            return new SliceImpl<>(new ArrayList<>(), PageRequest.of(0, size), false);
+        }
+        if (!StringUtils.hasText(postSearch.getOrder())) {
+            List<Chat> fetch = queryFactory
+                    .selectFrom(chat)
+                    .where(
+                            chatSearchCond(postSearch),
+                            createAtAfter(chat._super, cursor)
+                    )
+                    .orderBy(chat.createAt.desc(), chat.id.desc())
+                    .limit(size + 1)
+                    .fetch();
+            return toSlice(fetch, size);
+        } else if (postSearch.getOrder().equals("likes")) {
+            List<Chat> fetch = queryFactory
+                    .select(chat)
+                    .from(chat)
+                    .where(
+                            chatSearchCond(postSearch),
+                            countAfter(chat.likeCount, chat.id, cursor)
+                    )
+                    .orderBy(chat.likeCount.desc(), chat.id.desc())
+                    .limit(size + 1)
+                    .fetch();
+            return toSlice(fetch, size);
+        } else if (postSearch.getOrder().equals("comments")) {
+            List<Chat> fetch = queryFactory
+                    .select(chat)
+                    .from(chat)
+                    .where(
+                            chatSearchCond(postSearch),
+                            countAfter(chat.commentCount, chat.id, cursor)
+                    )
+                    .orderBy(chat.commentCount.desc(), chat.id.desc())
+                    .limit(size + 1)
+                    .fetch();
+            return toSlice(fetch, size);
+        }
+        throw new OrderNotFoundException();
+    }
+
+    @Override
+    public Slice<Study> findStudiesByCursor(PostCursor cursor, int size, PostSearch postSearch) {
+        QStudy study = QStudy.study;
+        if (isEmptySearch(postSearch)) {
+            return new SliceImpl<>(new ArrayList<>(), PageRequest.of(0, size), false);
+        }
+        if (!StringUtils.hasText(postSearch.getOrder())) {
+            List<Study> fetch = tagFilter(queryFactory
+                    .select(study)
+                    .from(study), study.id, postSearch)
+                    .where(
+                            studyStatusEq(postSearch.getStudyStatus()),
+                            studySearchCond(postSearch),
+                            createAtAfter(study._super, cursor)
+                    )
+                    .orderBy(study.createAt.desc(), study.id.desc())
+                    .limit(size + 1)
+                    .fetch();
+            return toSlice(fetch, size);
+        } else if (postSearch.getOrder().equals("likes")) {
+            List<Study> fetch = tagFilter(queryFactory
+                    .select(study)
+                    .from(study), study.id, postSearch)
+                    .where(
+                            studyStatusEq(postSearch.getStudyStatus()),
+                            studySearchCond(postSearch),
+                            countAfter(study.likeCount, study.id, cursor)
+                    )
+                    .orderBy(study.likeCount.desc(), study.id.desc())
+                    .limit(size + 1)
+                    .fetch();
+            return toSlice(fetch, size);
+        } else if (postSearch.getOrder().equals("comments")) {
+            List<Study> fetch = tagFilter(queryFactory
+                    .select(study)
+                    .from(study), study.id, postSearch)
+                    .where(
+                            studyStatusEq(postSearch.getStudyStatus()),
+                            studySearchCond(postSearch),
+                            countAfter(study.commentCount, study.id, cursor)
+                    )
+                    .orderBy(study.commentCount.desc(), study.id.desc())
+                    .limit(size + 1)
+                    .fetch();
+            return toSlice(fetch, size);
+        }
+        throw new OrderNotFoundException();
+    }
+
+    @Override
+    public Slice<Question> findQuestionsByCursor(PostCursor cursor, int size, PostSearch postSearch) {
+        QQuestion question = QQuestion.question;
+        if (isEmptySearch(postSearch)) {
+            return new SliceImpl<>(new ArrayList<>(), PageRequest.of(0, size), false);
+        }
+        if (!StringUtils.hasText(postSearch.getOrder())) {
+            List<Question> fetch = tagFilter(queryFactory
+                    .select(question)
+                    .from(question), question.id, postSearch)
+                    .where(
+                            questionStatusEq(postSearch.getQuestionStatus()),
+                            questionSearchCond(postSearch),
+                            createAtAfter(question._super, cursor)
+                    )
+                    .orderBy(question.createAt.desc(), question.id.desc())
+                    .limit(size + 1)
+                    .fetch();
+            return toSlice(fetch, size);
+        } else if (postSearch.getOrder().equals("likes")) {
+            List<Question> fetch = tagFilter(queryFactory
+                    .select(question)
+                    .from(question), question.id, postSearch)
+                    .where(
+                            questionStatusEq(postSearch.getQuestionStatus()),
+                            questionSearchCond(postSearch),
+                            countAfter(question.likeCount, question.id, cursor)
+                    )
+                    .orderBy(question.likeCount.desc(), question.id.desc())
+                    .limit(size + 1)
+                    .fetch();
+            return toSlice(fetch, size);
+        } else if (postSearch.getOrder().equals("comments")) {
+            List<Question> fetch = tagFilter(queryFactory
+                    .select(question)
+                    .from(question), question.id, postSearch)
+                    .where(
+                            questionStatusEq(postSearch.getQuestionStatus()),
+                            questionSearchCond(postSearch),
+                            countAfter(question.commentCount, question.id, cursor)
+                    )
+                    .orderBy(question.commentCount.desc(), question.id.desc())
+                    .limit(size + 1)
+                    .fetch();
+            return toSlice(fetch, size);
+        }
+        throw new OrderNotFoundException();
+    }
+
+    /*
+    * 목록 조회와 같은 필터 조건으로 COUNT
+    * 태그 조건은 group by 대신 서브쿼리로 바꿔 게시글 한 건당 한 행만 세도록 함
+    * */
+    @Override
+    public long countChats(PostSearch postSearch) {
+        if (isEmptySearch(postSearch)) {
+            return 0L;
+        }
+        Long count = queryFactory
+                .select(chat.count())
+                .from(chat)
+                .where(
+                        chatSearchCond(postSearch)
+                )
+                .fetchOne();
+        return count == null ? 0L : count;
+    }
+
+    @Override
+    public long countStudies(PostSearch postSearch) {
+        if (isEmptySearch(postSearch)) {
+            return 0L;
+        }
+        Long count = queryFactory
+                .select(study.count())
+                .from(study)
+                .where(
+                        tagCond(study.id, postSearch),
+                        studyStatusEq(postSearch.getStudyStatus()),
+                        studySearchCond(postSearch)
+                )
+                .fetchOne();
+        return count == null ? 0L : count;
+    }
+
+    @Override
+    public long countQuestions(PostSearch postSearch) {
+        if (isEmptySearch(postSearch)) {
+            return 0L;
+        }
+        Long count = queryFactory
+                .select(question.count())
+                .from(question)
+                .where(
+                        tagCond(question.id, postSearch),
+                        questionStatusEq(postSearch.getQuestionStatus()),
+                        questionSearchCond(postSearch)
+                )
+                .fetchOne();
+        return count == null ? 0L : count;
+    }
+
+    /*
+    * 목록 한 페이지 => 1 query
+    * post + user 는 inner join, 태그는 left join 으로 펼친 뒤 id 별로 모음
+    * */
+    @Override
+    public List<PostListRow> findChatRows(List<Long> postIds) {
+        QChat chat = QChat.chat;
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Tuple> tuples = queryFactory
+                .select(chat.id, chat.title, chat.content, user.username, chat.hit,
+                        chat.likeCount, chat.commentCount, chat.createAt, chat.lastModifiedAt)
+                .from(chat)
+                .innerJoin(chat.user, user)
+                .where(chat.id.in(postIds))
+                .fetch();
+        return toRows(postIds, tuples, chat._super, tuple -> rowBuilder(tuple, chat._super).build(), null);
+    }
+
+    @Override
+    public List<PostListRow> findStudyRows(List<Long> postIds) {
+        QStudy study = QStudy.study;
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Tuple> tuples = queryFactory
+                .select(study.id, study.title, study.content, user.username, study.hit,
+                        study.likeCount, study.commentCount, study.createAt, study.lastModifiedAt,
+                        study.studyStatus, tag.name)
+                .from(study)
+                .innerJoin(study.user, user)
+                .leftJoin(study.postTags, postTag)
+                .leftJoin(postTag.tag, tag)
+                .where(study.id.in(postIds))
+                .orderBy(postTag.id.asc())
+                .fetch();
+        return toRows(postIds, tuples, study._super,
+                tuple -> rowBuilder(tuple, study._super)
+                        .studyStatus(tuple.get(study.studyStatus))
+                        .tags(new ArrayList<>())
+                        .build(),
+                tag.name);
+    }
+
+    @Override
+    public List<PostListRow> findQuestionRows(List<Long> postIds) {
+        QQuestion question = QQuestion.question;
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Tuple> tuples = queryFactory
+                .select(question.id, question.title, question.content, user.username, question.hit,
+                        question.likeCount, question.commentCount, question.createAt, question.lastModifiedAt,
+                        question.questionStatus, tag.name)
+                .from(question)
+                .innerJoin(question.user, user)
+                .leftJoin(question.postTags, postTag)
+                .leftJoin(postTag.tag, tag)
+                .where(question.id.in(postIds))
+                .orderBy(postTag.id.asc())
+                .fetch();
+        return toRows(postIds, tuples, question._super,
+                tuple -> rowBuilder(tuple, question._super)
+                        .questionStatus(tuple.get(question.questionStatus))
+                        .tags(new ArrayList<>())
+                        .build(),
+                tag.name);
+    }
+
+    private PostListRow.PostListRowBuilder rowBuilder(Tuple tuple, QPost post) {
+        return PostListRow.builder()
+                .id(tuple.get(post.id))
+                .title(tuple.get(post.title))
+                .content(tuple.get(post.content))
+                .username(tuple.get(user.username))
+                .hit(tuple.get(post.hit))
+                .likeCount(tuple.get(post.likeCount))
+                .commentCount(tuple.get(post.commentCount))
+                .createAt(tuple.get(post.createAt))
+                .lastModifiedAt(tuple.get(post.lastModifiedAt));
+    }
+
+    private List<PostListRow> toRows(List<Long> postIds, List<Tuple> tuples, QPost post,
+                                     Function<Tuple, PostListRow> rowMapper, StringPath tagName) {
+        Map<Long, PostListRow> rows = new HashMap<>();
+        for (Tuple tuple : tuples) {
+            PostListRow row = rows.computeIfAbsent(tuple.get(post.id), id -> rowMapper.apply(tuple));
+            if (tagName != null && tuple.get(tagName) != null) {
+                row.getTags().add(tuple.get(tagName));
+            }
+        }
+        return postIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private <T> Slice<T> toSlice(List<T> fetch, int size) {
+        boolean hasNext = fetch.size() > size;
+        List<T> content = hasNext ? fetch.subList(0, size) : fetch;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    private BooleanExpression createAtAfter(QPost post, PostCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return post.createAt.lt(cursor.getCreateAt())
+                .or(post.createAt.eq(cursor.getCreateAt()).and(post.id.lt(cursor.getId())));
+    }
+
+    private BooleanExpression countAfter(NumberPath<Long> count, NumberPath<Long> id, PostCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return count.lt(cursor.getCount())
+                .or(count.eq(cursor.getCount()).and(id.lt(cursor.getId())));
+    }
+
     private BooleanExpression studyStatusEq(StudyStatus studyStatus) {
         if (studyStatus == null) {
             return null;
@@ -221,18 +554,45 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
         return question.questionStatus.eq(questionStatus);
     }
 
+    /*
+    * 검색 인덱스 결과가 있으면 id IN, 없으면 기존 title LIKE 검색
+    * */
+    private BooleanExpression studySearchCond(PostSearch postSearch) {
+        if (postSearch.getPostIds() != null) {
+            return study.id.in(postSearch.getPostIds());
+        }
+        return studyTitleContains(postSearch.getSentence());
+    }
     private BooleanExpression studyTitleContains(String sentence) {
         if (!StringUtils.hasText(sentence)) {
             return null;
         }
         return study.title.contains(sentence);
     }
+    /*
+    * 검색 인덱스 결과가 있으면 id IN, 없으면 기존 title LIKE 검색
+    * */
+    private BooleanExpression questionSearchCond(PostSearch postSearch) {
+        if (postSearch.getPostIds() != null) {
+            return question.id.in(postSearch.getPostIds());
+        }
+        return questionTitleContains(postSearch.getSentence());
+    }
     private BooleanExpression questionTitleContains(String sentence) {
         if (!StringUtils.hasText(sentence)) {
             return null;
         }
         return question.title.contains(sentence);
     }
+    /*
+    * 검색 인덱스 결과가 있으면 id IN, 없으면 기존 title LIKE 검색
+    * */
+    private BooleanExpression chatSearchCond(PostSearch postSearch) {
+        if (postSearch.getPostIds() != null) {
+            return chat.id.in(postSearch.getPostIds());
+        }
+        return chatTitleContains(postSearch.getSentence());
+    }
     private BooleanExpression chatTitleContains(String sentence) {
         if (!StringUtils.hasText(sentence)) {
             return null;
@@ -240,6 +600,67 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
         return chat.title.contains(sentence);
     }
 
+    private boolean isEmptySearch(PostSearch postSearch) {
+        return (postSearch.getPostIds() != null && postSearch.getPostIds().isEmpty())
+                || (postSearch.getTagPostIds() != null && postSearch.getTagPostIds().isEmpty());
+    }
+
+    private boolean isRelevanceOrder(PostSearch postSearch) {
+        return postSearch.getPostIds() != null && !StringUtils.hasText(postSearch.getOrder());
+    }
+
+    /*
+    * 검색어만 있고 정렬 기준이 없으면 검색 인덱스의 관련도 순서를 유지
+    * 필터를 통과한 id 중 현재 페이지 구간만 엔티티로 조회 후 관련도 순으로 재정렬
+    * */
+    private <T extends Post> Page<T> fetchByRelevance(Pageable pageable, List<Long> rankedIds, List<Long> filteredIds,
+                                                      Function<List<Long>, List<T>> loader) {
+        Set<Long> filtered = new HashSet<>(filteredIds);
+        List<Long> pageIds = rankedIds.stream()
+                .filter(filtered::contains)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        Map<Long, T> posts = loader.apply(pageIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<T> fetch = pageIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(fetch, pageable, fetch.size());
+    }
+
+    /*
+    * 태그 비트맵 교집합이 있으면 id IN, 없으면 post_tag 조인 후 태그 수로 AND 판별
+    * */
+    private <T> JPAQuery<T> tagFilter(JPAQuery<T> query, NumberPath<Long> id, PostSearch postSearch) {
+        if (postSearch.getTagPostIds() != null) {
+            return query.where(id.in(postSearch.getTagPostIds()));
+        }
+        return query
+                .innerJoin(postTag)
+                .on(id.eq(postTag.post.id))
+                .where(tagIn(postSearch.getTagId()))
+                .groupBy(id)
+                .having(sizeEq((long) postSearch.getTagId().size()));
+    }
+
+    //tagFilter 와 같은 조건 (태그 없는 게시글 제외 포함)
+    private BooleanExpression tagCond(NumberPath<Long> id, PostSearch postSearch) {
+        if (postSearch.getTagPostIds() != null) {
+            return id.in(postSearch.getTagPostIds());
+        }
+        return id.in(JPAExpressions
+                .select(postTag.post.id)
+                .from(postTag)
+                .where(tagIn(postSearch.getTagId()))
+                .groupBy(postTag.post.id)
+                .having(sizeEq((long) postSearch.getTagId().size())));
+    }
+
     private BooleanExpression tagIn(List<Long> ids) {
         if (ids.isEmpty()) {
             return null;
@@ -256,4 +677,5 @@ public class PostRepositoryExtensionImpl implements PostRepositoryExtension{
         return postTag.tag.id.count().eq(size);
     }
 
+
 }
@@ -0,0 +1,13 @@
+package com.devu.backend.repository.post;
+
+import java.time.LocalDateTime;
+
+/*
+* 랭킹 재구성용 프로젝션 (엔티티 대신 점수 컬럼만)
+* */
+public interface PostScoreView {
+    Long getId();
+    LocalDateTime getCreateAt();
+    Long getHit();
+    Long getLikeCount();
+}
@@ -15,7 +15,10 @@ import java.util.List;
 public class PostSearch {
     private String order;//정렬 방식
     private String sentence;//검색 단어
+    private List<Long> postIds;//검색 인덱스 결과 (관련도 순), null => 검색 안 함
+    private boolean searchTruncated;//검색 결과가 max-results 에서 잘림
     private List<Long> tagId = new ArrayList<>();//태그 필터링
+    private List<Long> tagPostIds;//태그 비트맵 교집합 결과, null => post_tag 조인으로 필터링
     private StudyStatus studyStatus;//상태
     private QuestionStatus questionStatus;//상태
 }
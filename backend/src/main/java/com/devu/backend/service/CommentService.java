@@ -1,21 +1,27 @@
 package com.devu.backend.service;
 
+import com.devu.backend.api.comment.CommentCursorResponseDto;
 import com.devu.backend.api.comment.CommentResponseDto;
+import com.devu.backend.common.AfterCommit;
 import com.devu.backend.common.exception.*;
 import com.devu.backend.api.comment.CommentCreateRequestDto;
 import com.devu.backend.api.comment.CommentUpdateRequestDto;
 import com.devu.backend.entity.Comment;
 import com.devu.backend.entity.User;
 import com.devu.backend.entity.post.Post;
+import com.devu.backend.repository.comment.CommentCursor;
 import com.devu.backend.repository.comment.CommentRepository;
 import com.devu.backend.repository.post.PostRepository;
 import com.devu.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @RequiredArgsConstructor
 @Service
 @Transactional(readOnly = true)
@@ -24,6 +30,63 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final PostRepository postRepository;
+    private final PostDetailCache postDetailCache;
+
+    @Value("${devu.comment.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${devu.comment.max-page-size:100}")
+    private int maxPageSize;
+
+    /*
+    * 게시글 댓글 스레드 커서 페이징 (원댓글 뒤에 답글이 이어지는 순서)
+    * size 가 없으면 기본 크기, 최대 크기를 넘으면 잘라냄
+    * */
+    public CommentCursorResponseDto findComments(Long postId, String cursor, Integer size) {
+        Slice<Comment> comments = commentRepository.findByPostIdAndCursor(postId, CommentCursor.decode(cursor), pageSize(size));
+        return toCursorResponse(comments);
+    }
+
+    //원댓글(groupNum) 하나의 답글만 따로 페이징
+    public CommentCursorResponseDto findReplies(Long groupNum, String cursor, Integer size) {
+        Slice<Comment> replies = commentRepository.findRepliesByCursor(groupNum, CommentCursor.decode(cursor), pageSize(size));
+        return toCursorResponse(replies);
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private CommentCursorResponseDto toCursorResponse(Slice<Comment> slice) {
+        List<Comment> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            Comment last = content.get(content.size() - 1);
+            nextCursor = CommentCursor.of(last.getGroupNum(), last.getId()).encode();
+        }
+        return CommentCursorResponseDto.builder()
+                .comments(content.stream().map(this::toResponseDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(slice.hasNext())
+                .build();
+    }
+
+    private CommentResponseDto toResponseDto(Comment comment) {
+        return CommentResponseDto.builder()
+                .username(comment.getUser().getUsername())
+                .contents(comment.getContents())
+                .commentId(comment.getId())
+                .deleted(comment.isDeleted())
+                .group(comment.getGroupNum())
+                .parent(comment.getParent())
+                .replies(comment.getReplyCount())
+                .lastModifiedAt(comment.getLastModifiedAt())
+                .createAt(comment.getCreateAt())
+                .build();
+    }
 
     @Transactional
     public Comment saveComment(CommentCreateRequestDto requestDto) {
@@ -39,6 +102,8 @@ public class CommentService {
                 .build();
         Comment saveComment = commentRepository.save(comment);
         comment.updateGroup(saveComment.getId());
+        postRepository.increaseCommentCount(post.getId());
+        AfterCommit.run(() -> postDetailCache.bump(post.getId()));
         return saveComment;
     }
 
@@ -53,6 +118,10 @@ public class CommentService {
         if (requestDto.getContents() == null) {
             throw new CommentContentNullException();
         }
+        //원댓글이 방금 삭제됐거나 없는 group => 갱신 0 건, 예외로 롤백해서 고아 답글이 남지 않음
+        if (commentRepository.increaseReplyCount(requestDto.getGroup()) != 1) {
+            throw new ReCommentNotFoundException();
+        }
         Comment comment = Comment.builder()
                 .user(user)
                 .post(post)
@@ -61,32 +130,51 @@ public class CommentService {
                 .parent(requestDto.getParent())
                 .build();
 
-        return commentRepository.save(comment);
+        Comment saveComment = commentRepository.save(comment);
+        postRepository.increaseCommentCount(post.getId());
+        AfterCommit.run(() -> postDetailCache.bump(post.getId()));
+        return saveComment;
     }
 
     @Transactional
     public Comment updateComment(CommentUpdateRequestDto updateRequestDto) {
         Comment comment = commentRepository.findById(updateRequestDto.getCommentId()).orElseThrow(CommentNotFoundException::new);
         comment.updateContent(updateRequestDto.getContents());
+        Long postId = comment.getPost().getId();
+        AfterCommit.run(() -> postDetailCache.bump(postId));
         return comment;
     }
 
 
+    /*
+    * soft delete => 행이 남아 있으므로 commentCount 유지
+    * 답글 없는 원댓글만 삭제, 답글 수 확인과 삭제를 한 문장으로 => 그 사이 달린 답글과 경합 없음
+    * */
     @Transactional
     public void deleteComment(Comment comment) {
-        if(commentRepository.countByGroupNum(comment.getGroupNum()) == 1)
-            commentRepository.delete(comment);
+        Long postId = comment.getPost().getId();
+        AfterCommit.run(() -> postDetailCache.bump(postId));
+        if (comment.isRoot() && commentRepository.deleteIfNoReplies(comment.getId()) == 1) {
+            postRepository.decreaseCommentCount(postId, 1);
+        }
         else
             comment.updateDeleted();
     }
 
+    /*
+    * 답글 삭제 후 원댓글 답글 수 감소
+    * 원댓글이 soft delete 상태이고 남은 답글이 없으면 원댓글도 함께 삭제
+    * */
     @Transactional
     public void deleteReComment(Comment originalComment, Comment comment) {
-        if (originalComment.isDeleted()) {
-            if (commentRepository.countByGroupNum(comment.getGroupNum()) == 2) {
-                commentRepository.delete(originalComment);
-            }
-        }
+        Long postId = comment.getPost().getId();
+        long deleted = 1;
         commentRepository.delete(comment);
+        commentRepository.decreaseReplyCount(originalComment.getId());
+        if (commentRepository.deleteIfDeletedWithoutReplies(originalComment.getId()) == 1) {
+            deleted++;
+        }
+        postRepository.decreaseCommentCount(postId, deleted);
+        AfterCommit.run(() -> postDetailCache.bump(postId));
     }
 }
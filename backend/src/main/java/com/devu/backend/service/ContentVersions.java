@@ -0,0 +1,112 @@
+package com.devu.backend.service;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+* 응답 내용 버전 => 조건부 GET(ETag / Last-Modified) 과 상세 응답 캐시가 함께 사용
+* 게시글 단위 버전 + 범위(게시글 목록, 채용 공고) 버전, 변경은 커밋 후 bump
+* 조회수는 조회마다 바뀌므로 게시글 버전에 넣지 않고, 조회수가 들어간 응답(상세, 목록, 인기글)만 withHits()
+* => 조회수 flush 마다 올라가는 hit 세대를 ETag, Last-Modified 에 포함 (계속 polling 해도 flush 주기 안에 새 조회수를 받음)
+* => 같은 세대 안에서는 조회수가 조금 다른 응답이 같은 ETag 를 가지므로 weak ETag (W/) 로 응답
+* ETag 에 기동 시각(epoch)을 넣어 재시작 후 버전이 0 부터 다시 시작해도 이전 ETag 와 겹치지 않음
+* 버전은 이 서버 메모리에만 있음 => 다른 서버에서 커밋된 변경은 bump 되지 않음
+* 여러 대로 운영하면 sticky session 으로 같은 서버에 붙이거나 버전을 공유 저장소(Redis 등)로 옮겨야 함
+* */
+@Component
+public class ContentVersions {
+
+    public static final String POSTS = "posts";
+    public static final String POSITIONS = "positions";
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Long, Stamp> posts = new ConcurrentHashMap<>();
+    private final Map<String, Stamp> scopes = new ConcurrentHashMap<>();
+    private final AtomicReference<Stamp> hits = new AtomicReference<>();
+
+    public long postVersion(Long postId) {
+        Stamp stamp = posts.get(postId);
+        return stamp == null ? 0 : stamp.version;
+    }
+
+    //게시글이 바뀌면 목록 행(제목, 좋아요, 댓글 수, 상태)도 바뀜 => 목록 버전도 함께 증가
+    public void bumpPost(Long postId) {
+        posts.merge(postId, Stamp.first(), Stamp::next);
+        bump(POSTS);
+    }
+
+    public void bump(String scope) {
+        scopes.merge(scope, Stamp.first(), Stamp::next);
+    }
+
+    //HitCountBuffer flush 커밋 후 호출
+    public void bumpHits() {
+        hits.accumulateAndGet(Stamp.first(), (previous, first) -> previous == null ? first : Stamp.next(previous, first));
+    }
+
+    public Validator withHits(Validator validator) {
+        Stamp stamp = hits.get();
+        long version = stamp == null ? 0 : stamp.version;
+        long modifiedAt = stamp == null ? epoch : stamp.modifiedAt;
+        return new Validator(validator.tag + "-h" + version, Math.max(validator.lastModified, modifiedAt), true);
+    }
+
+    public Validator post(Long postId) {
+        return validator("p" + postId, posts.get(postId));
+    }
+
+    public Validator scope(String scope) {
+        return validator(scope, scopes.get(scope));
+    }
+
+    private Validator validator(String name, Stamp stamp) {
+        long version = stamp == null ? 0 : stamp.version;
+        long modifiedAt = stamp == null ? epoch : stamp.modifiedAt;
+        return new Validator(Long.toString(epoch, 36) + "-" + name + "-" + version, modifiedAt, false);
+    }
+
+    @Getter
+    public static class Validator {
+        private final String tag;
+        private final long lastModified;
+        private final boolean weak;
+
+        private Validator(String tag, long lastModified, boolean weak) {
+            this.tag = tag;
+            this.lastModified = lastModified;
+            this.weak = weak;
+        }
+
+        //같은 버전 안에서 응답을 더 나눠야 할 때 (ex. 사용자, 인기글 순위)
+        //hash 로 줄이면 충돌 시 다른 응답에 304 => 값을 그대로 넣음 (ETag 에 쓸 수 있는 문자만)
+        public Validator with(String discriminator) {
+            return new Validator(tag + "-" + discriminator, lastModified, weak);
+        }
+
+        public String getETag() {
+            return (weak ? "W/" : "") + "\"" + tag + "\"";
+        }
+    }
+
+    private static class Stamp {
+        private final long version;
+        private final long modifiedAt;
+
+        private Stamp(long version, long modifiedAt) {
+            this.version = version;
+            this.modifiedAt = modifiedAt;
+        }
+
+        private static Stamp first() {
+            return new Stamp(1, System.currentTimeMillis());
+        }
+
+        private static Stamp next(Stamp previous, Stamp ignored) {
+            return new Stamp(previous.version + 1, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.devu.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+* 조회수 write-behind 버퍼
+* 상세 조회마다 plusHit() => post 행 전체 UPDATE + 동시 조회 시 증가분 유실(read-modify-write)
+* => 게시글별 LongAdder 에 누적하고 주기적으로 hit_count = hit_count + ? 배치 UPDATE
+* 응답의 조회수 => DB 값 + 아직 반영되지 않은 누적분
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HitCountBuffer {
+
+    private static final String FLUSH_SQL = "update post set hit_count = hit_count + ? where post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ContentVersions contentVersions;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    //flush 시작, 끝에 1씩 증가 => 홀수면 반영 중
+    private final AtomicLong flushes = new AtomicLong();
+
+    /*
+    * 조회 1회 누적 후 아직 반영되지 않은 누적분 반환
+    * flush 의 맵 제거와 같은 bin lock 안에서 증가 => 제거된 adder 에 더해져 유실되는 일 없음
+    * */
+    public long increment(Long postId) {
+        LongAdder adder = pending.compute(postId, (id, current) -> {
+            LongAdder next = current == null ? new LongAdder() : current;
+            next.increment();
+            return next;
+        });
+        return adder.sum();
+    }
+
+    public long pending(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    public long current(Long postId, Long persisted) {
+        return (persisted == null ? 0L : persisted) + pending(postId);
+    }
+
+    /*
+    * DB 조회수를 지금 읽어서 누적분과 더함
+    * 읽는 사이 flush 가 끼어들면 (반영 전 DB 값 + 이미 뺀 누적분 => 조회수 역행) flush 를 막고 다시 읽음
+    * */
+    public long current(Long postId, Supplier<Long> persisted) {
+        long version = flushes.get();
+        if ((version & 1) == 0) {
+            long hit = current(postId, persisted.get());
+            if (flushes.get() == version) {
+                return hit;
+            }
+        }
+        synchronized (this) {
+            return current(postId, persisted.get());
+        }
+    }
+
+    /*
+    * 읽은 누적분을 한 트랜잭션으로 반영 => 전부 반영되거나 전부 안 되거나
+    * 커밋된 뒤에만 읽은 만큼 빼서(add(-delta)) flush 중에 들어온 조회는 다음 주기로 넘김
+    * 실패하면 누적분이 그대로 남아 다음 주기에 다시 시도
+    * 누적분이 0 인 게시글(한 주기 동안 조회 없음)만 맵에서 제거
+    * */
+    @Scheduled(fixedDelayString = "${devu.hit.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta == 0) {
+                pending.computeIfPresent(entry.getKey(), (id, adder) -> adder.sum() == 0 ? null : adder);
+                continue;
+            }
+            deltas.put(entry.getKey(), delta);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = deltas.entrySet().stream()
+                .map(delta -> new Object[]{delta.getValue(), delta.getKey()})
+                .collect(Collectors.toList());
+        flushes.incrementAndGet();
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+            } catch (RuntimeException e) {
+                log.warn("Hit count flush failed : {}", e.getMessage());
+                return;
+            }
+            //누적분이 남아 있는 동안은 제거되지 않음 (제거는 flush 에서만)
+            deltas.forEach((postId, delta) -> pending.get(postId).add(-delta));
+        } finally {
+            flushes.incrementAndGet();
+        }
+        //조회수가 들어간 응답의 ETag 갱신 => polling 중인 클라이언트도 다음 요청에서 새 조회수를 받음
+        contentVersions.bumpHits();
+        log.info("Hit counts flushed : {} posts", batch.size());
+    }
+
+    /*
+    * flush 가 끼어들지 않게 실행 => DB 조회수와 미반영 누적분을 함께 읽어야 하는 곳 (ex. 랭킹 재구성)
+    * 그동안 increment 는 그대로 누적되고 flush 만 뒤로 밀림
+    * */
+    public synchronized void holdingFlush(Runnable work) {
+        work.run();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
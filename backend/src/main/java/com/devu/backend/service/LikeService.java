@@ -1,60 +1,101 @@
 package com.devu.backend.service;
 
-import com.devu.backend.common.exception.LikeNotFoundException;
+import com.devu.backend.api.like.ResponseLikeDto;
+import com.devu.backend.common.AfterCommit;
+import com.devu.backend.common.ConstraintViolations;
 import com.devu.backend.common.exception.PostNotFoundException;
-import com.devu.backend.common.exception.UserNotFoundException;
+import com.devu.backend.controller.post.PostResponseDto;
 import com.devu.backend.entity.Like;
-import com.devu.backend.entity.User;
-import com.devu.backend.entity.post.Post;
 import com.devu.backend.repository.LikeRepository;
 import com.devu.backend.repository.post.PostRepository;
-import com.devu.backend.repository.UserRepository;
+import com.devu.backend.service.ranking.PostLeaderboard;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Service
 public class LikeService {
     private final LikeRepository likeRepository;
     private final PostRepository postRepository;
-    private final UserRepository userRepository;
+    private final PostLeaderboard postLeaderboard;
+    private final PostDetailCache postDetailCache;
+    private final LikedPostCache likedPostCache;
+    private final TransactionTemplate transactionTemplate;
 
-    public User findUserByUsername(String username) {
-        return userRepository.findByUsername(username).orElseThrow(UserNotFoundException::new);
+    public long getLikeCount(Long postId) {
+        return postRepository.findLikeCountById(postId).orElseThrow(PostNotFoundException::new);
     }
 
-    public Post findPostById(Long postId) {
-        return postRepository.findById(postId).orElseThrow(PostNotFoundException::new);
+    public boolean isAlreadyLiked(Long userId, Long postId) {
+        return likedPostCache.contains(userId, postId);
     }
 
     /*
-    * like => 4 query
+    * 목록,상세 응답에 likedByMe 표시 => 사용자 비트맵 하나로 처리 (게시글마다 likes 조회 X)
+    * 비로그인이면 표시하지 않음 (null)
     * */
-    @Transactional(readOnly = false)
-    public void addLike(User user,Post post) {
-        Like like = likeRepository.save(Like.builder()
-                .post(post)
-                .user(user)
-                .build()
-        );
-        like.changePost(post);
+    public void markLikedByMe(Long userId, List<PostResponseDto> posts) {
+        if (userId == null || posts.isEmpty()) {
+            return;
+        }
+        Set<Long> liked = likedPostCache.likedAmong(userId,
+                posts.stream().map(PostResponseDto::getId).collect(Collectors.toList()));
+        posts.forEach(post -> post.setLikedByMe(liked.contains(post.getId())));
     }
 
     /*
-    * isPresent() true => 이미 좋아요를 누름
+    * 좋아요 토글 => User, Post 를 읽지 않고 delete 1번 (없으면 insert) + 카운터 update + 개수 조회
+    * 동시에 같은 좋아요가 insert 되면 unique(UK_LIKES_USER_POST) 위반 => 먼저 들어간 좋아요로 처리 (중복 클릭)
+    * 그 밖의 위반 (탈퇴한 사용자의 FK 위반 등) 은 좋아요로 처리하지 않고 그대로 던짐
+    * 위반은 트랜잭션 밖에서 잡아야 함 (안에서 잡으면 rollback-only 로 커밋 실패)
     * */
-    public boolean isAlreadyLiked(User user,Post post) {
-        return likeRepository.findByUserAndPost(user, post).isPresent();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseLikeDto toggleLike(Long userId, Long postId) {
+        try {
+            return transactionTemplate.execute(status -> toggle(userId, postId));
+        } catch (DataIntegrityViolationException e) {
+            //게시글이 없어서 FK 위반이면 여기서 PostNotFoundException
+            long likeCount = getLikeCount(postId);
+            if (!ConstraintViolations.violates(e, Like.UNIQUE_USER_POST)) {
+                throw e;
+            }
+            log.info("Concurrent like on post {} by user {}", postId, userId);
+            likedPostCache.update(userId, postId, true);
+            return ResponseLikeDto.builder()
+                    .liked(true)
+                    .likeCount(likeCount)
+                    .build();
+        }
     }
 
-    /*
-    * dislike => 5 query
-    * */
-    @Transactional(readOnly = false)
-    public void dislike(User user,Post post) {
-        Like like = likeRepository.findByUserAndPost(user, post).orElseThrow(LikeNotFoundException::new);
-        likeRepository.delete(like);
+    private ResponseLikeDto toggle(Long userId, Long postId) {
+        boolean liked = likeRepository.deleteByUserIdAndPostId(userId, postId) == 0;
+        if (liked) {
+            likeRepository.insertLike(userId, postId);
+            postRepository.increaseLikeCount(postId);
+        } else {
+            postRepository.decreaseLikeCount(postId);
+        }
+        long delta = liked ? 1L : -1L;
+        AfterCommit.run(() -> {
+            postLeaderboard.like(postId, delta);
+            postDetailCache.bump(postId);
+            likedPostCache.update(userId, postId, liked);
+        });
+        return ResponseLikeDto.builder()
+                .liked(liked)
+                .likeCount(getLikeCount(postId))
+                .build();
     }
 }
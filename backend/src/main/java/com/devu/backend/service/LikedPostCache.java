@@ -0,0 +1,111 @@
+package com.devu.backend.service;
+
+import com.devu.backend.config.datasource.PrimaryReader;
+import com.devu.backend.repository.LikeRepository;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/*
+* 사용자별 좋아요한 게시글 id 압축 비트맵 (LRU, 사용자 수로 제한)
+* 처음 조회할 때 likes 에서 한 번 읽고, 이후 좋아요 토글은 커밋 후 비트맵에 반영
+* => "내가 좋아요 했는지", 목록의 likedByMe, 내가 좋아요한 글 목록을 likes 조회 없이 처리
+* 로딩 중에 토글이 커밋되면 읽은 값이 이전 상태일 수 있음 => 그 결과는 캐시하지 않음
+* 직전에 커밋된 토글이 빠진 복제본 값이 TTL 없이 캐시되지 않도록 primary 에서 읽음 (PrimaryReader)
+* */
+@Component
+public class LikedPostCache {
+
+    private final LikeRepository likeRepository;
+    private final PrimaryReader primaryReader;
+    private final int maxUsers;
+    private final LinkedHashMap<Long, Roaring64NavigableMap> entries = new LinkedHashMap<>(16, 0.75f, true);
+    //로딩 중인 사용자 => 토글이 반영되면 제거되어 로딩 결과를 버림
+    private final Map<Long, Object> loading = new HashMap<>();
+
+    public LikedPostCache(LikeRepository likeRepository, PrimaryReader primaryReader,
+                          @Value("${devu.liked-cache.max-users:10000}") int maxUsers) {
+        this.likeRepository = likeRepository;
+        this.primaryReader = primaryReader;
+        this.maxUsers = maxUsers;
+    }
+
+    public boolean contains(Long userId, Long postId) {
+        Roaring64NavigableMap liked = load(userId);
+        synchronized (this) {
+            return liked.contains(postId);
+        }
+    }
+
+    //postIds 중 좋아요한 id 만
+    public Set<Long> likedAmong(Long userId, Collection<Long> postIds) {
+        Roaring64NavigableMap liked = load(userId);
+        Set<Long> result = new HashSet<>();
+        synchronized (this) {
+            for (Long postId : postIds) {
+                if (postId != null && liked.contains(postId)) {
+                    result.add(postId);
+                }
+            }
+        }
+        return result;
+    }
+
+    //최신 글 (id 큰 순) 먼저, 좋아요한 시각 순서는 아님
+    public List<Long> postIds(Long userId) {
+        Roaring64NavigableMap liked = load(userId);
+        List<Long> ids = new ArrayList<>();
+        synchronized (this) {
+            liked.forEach(ids::add);
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    //좋아요 토글 커밋 후 호출, 캐시에 없는 사용자는 다음 조회 때 DB 에서 읽음
+    public synchronized void update(Long userId, Long postId, boolean liked) {
+        loading.remove(userId);
+        Roaring64NavigableMap entry = entries.get(userId);
+        if (entry == null) {
+            return;
+        }
+        if (liked) {
+            entry.addLong(postId);
+        } else {
+            entry.removeLong(postId);
+        }
+    }
+
+    public synchronized void evict(Long userId) {
+        loading.remove(userId);
+        entries.remove(userId);
+    }
+
+    private Roaring64NavigableMap load(Long userId) {
+        Object token = new Object();
+        synchronized (this) {
+            Roaring64NavigableMap entry = entries.get(userId);
+            if (entry != null) {
+                return entry;
+            }
+            loading.put(userId, token);
+        }
+        Roaring64NavigableMap liked = new Roaring64NavigableMap();
+        primaryReader.read(() -> likeRepository.findPostIdsByUserId(userId)).forEach(liked::addLong);
+        liked.runOptimize();
+        synchronized (this) {
+            if (!loading.remove(userId, token)) {
+                return liked;
+            }
+            entries.put(userId, liked);
+            Iterator<Long> eldest = entries.keySet().iterator();
+            while (entries.size() > maxUsers && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+            return liked;
+        }
+    }
+}
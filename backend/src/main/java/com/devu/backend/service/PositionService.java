@@ -2,6 +2,7 @@ package com.devu.backend.service;
 
 import com.devu.backend.api.position.PositionDto;
 import com.devu.backend.api.position.PositionResponseDto;
+import com.devu.backend.common.AfterCommit;
 import com.devu.backend.entity.CompanyType;
 import com.devu.backend.entity.Position;
 import com.devu.backend.repository.PositionRepository;
@@ -28,9 +29,16 @@ import java.util.List;
 public class PositionService {
 
     private final PositionRepository positionRepository;
+    private final ContentVersions contentVersions;
+
+    //재수집 후 채용 공고 목록 ETag 갱신
+    private void positionsChangedAfterCommit() {
+        AfterCommit.run(() -> contentVersions.bump(ContentVersions.POSITIONS));
+    }
 
     @Transactional
     public void collectNaver() {
+        positionsChangedAfterCommit();
         int startNum = 1;
         int endNum = 10;
         while (true) {
@@ -80,6 +88,7 @@ public class PositionService {
 
     @Transactional
     public void collectBaemin(int page) {
+        positionsChangedAfterCommit();
         try {
             String url = "https://career.woowahan.com/w1/recruits?category=jobGroupCodes%3ABA005001&" +
                     "recruitCampaignSeq=0&jobGroupCodes=BA005001&page=" + page + "&size=21&sort=updateDate%2Cdesc";
@@ -138,6 +147,7 @@ public class PositionService {
 
     @Transactional
     public void collectKakao(int page) {
+        positionsChangedAfterCommit();
         Document document = null;
         String url = "https://careers.kakao.com/jobs?company=ALL&keyword=&page="+ page;
         Connection con = Jsoup.connect(url);
@@ -185,6 +195,7 @@ public class PositionService {
 
     @Transactional
     public void collectLine() {
+        positionsChangedAfterCommit();
         Document document = null;
         String url = "https://careers.linecorp.com/ko/jobs?ca=All&ci=Seoul,Bundang&co=East%20Asia";
         Connection con = Jsoup.connect(url);
@@ -217,6 +228,7 @@ public class PositionService {
 
     @Transactional
     public void collectCoupang(int page) {
+        positionsChangedAfterCommit();
         Document document = null;
         String url = "https://www.coupang.jobs/kr/jobs/?" + page + "department=Ecommerce+Engineering&department=Play" +
                 "+Engineering&department=Product+UX&department=Search+and+Discovery&department=Search+and" +
@@ -272,6 +284,7 @@ public class PositionService {
     @Transactional
 //    @Scheduled(cron = "0 0 4 * * *")  매일 새벽4시마다 실행(혹시몰라 잠시중단)
     public void collectAllPosition() {
+        positionsChangedAfterCommit();
         positionRepository.deleteAll();
         //Naver 크롤링
         collectNaver();
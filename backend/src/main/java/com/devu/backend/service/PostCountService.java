@@ -0,0 +1,163 @@
+package com.devu.backend.service;
+
+import com.devu.backend.config.datasource.PrimaryReader;
+import com.devu.backend.entity.post.PostType;
+import com.devu.backend.repository.post.PostRepository;
+import com.devu.backend.repository.post.PostSearch;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/*
+* 게시글 목록 전체 개수
+* 타입별 전체 개수 => COUNT 후 생성,삭제 시 증감 (TTL 만료 시 다시 COUNT 로 보정)
+* (타입, 상태, 태그 조합) 개수 => 짧은 TTL 캐시, 해당 타입에 쓰기가 생기면 비움
+* 검색어가 있는 경우는 조합이 무한하므로 캐시하지 않고 매번 COUNT
+* 상태,태그 조합도 클라이언트가 정함 => 읽은 순서대로 보관하고 TTL 이 지난 것은 앞에서부터 제거, max-entries 를 넘으면 가장 오래된 것부터 제거
+* */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PostCountService {
+
+    private final PostRepository postRepository;
+    private final PrimaryReader primaryReader;
+
+    @Value("${devu.count.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${devu.count.max-entries:1000}")
+    private int maxEntries;
+
+    //읽은 시각 순 (다시 읽으면 맨 뒤로), synchronized 로 접근
+    private final LinkedHashMap<CountKey, CachedCount> counts = new LinkedHashMap<>();
+
+    public long countAll(PostType type) {
+        return cached(CountKey.total(type), () -> {
+            switch (type) {
+                case STUDY:
+                    return postRepository.countAllStudies();
+                case QUESTION:
+                    return postRepository.countAllQuestions();
+                default:
+                    return postRepository.countAllChats();
+            }
+        });
+    }
+
+    public long count(PostType type, PostSearch postSearch) {
+        LongSupplier query = () -> {
+            switch (type) {
+                case STUDY:
+                    return postRepository.countStudies(postSearch);
+                case QUESTION:
+                    return postRepository.countQuestions(postSearch);
+                default:
+                    return postRepository.countChats(postSearch);
+            }
+        };
+        if (StringUtils.hasText(postSearch.getSentence())) {
+            return query.getAsLong();
+        }
+        return cached(CountKey.filtered(type, postSearch), query);
+    }
+
+    public void created(PostType type) {
+        adjustTotal(type, 1);
+    }
+
+    public void deleted(PostType type) {
+        adjustTotal(type, -1);
+    }
+
+    //상태,태그 변경 => 전체 개수는 그대로, 조건별 개수만 비움
+    public synchronized void changed(PostType type) {
+        counts.keySet().removeIf(key -> key.type == type && !key.total);
+    }
+
+    private synchronized void adjustTotal(PostType type, long delta) {
+        counts.computeIfPresent(CountKey.total(type), (key, cached) -> cached.plus(delta));
+        changed(type);
+    }
+
+    private long cached(CountKey key, LongSupplier query) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            expire(now);
+            CachedCount cached = counts.get(key);
+            if (cached != null) {
+                return cached.value;
+            }
+        }
+        //캐시할 값 => primary 에서 읽음 (복제본이면 changed 직후에도 쓰기 전 개수가 TTL 동안 남음)
+        long value = primaryReader.read(query::getAsLong);
+        synchronized (this) {
+            counts.remove(key);
+            counts.put(key, new CachedCount(value, System.currentTimeMillis()));
+            Iterator<CachedCount> eldest = counts.values().iterator();
+            while (counts.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return value;
+    }
+
+    //읽은 시각 순이므로 만료된 것은 앞쪽에 모여 있음
+    private void expire(long now) {
+        Iterator<CachedCount> eldest = counts.values().iterator();
+        while (eldest.hasNext() && eldest.next().loadedAt + ttlSeconds * 1000 <= now) {
+            eldest.remove();
+        }
+    }
+
+    @EqualsAndHashCode
+    private static class CountKey {
+        private final PostType type;
+        private final boolean total;
+        private final String status;
+        private final List<Long> tagIds;
+
+        private CountKey(PostType type, boolean total, String status, List<Long> tagIds) {
+            this.type = type;
+            this.total = total;
+            this.status = status;
+            this.tagIds = tagIds;
+        }
+
+        private static CountKey total(PostType type) {
+            return new CountKey(type, true, null, List.of());
+        }
+
+        private static CountKey filtered(PostType type, PostSearch postSearch) {
+            Object status = postSearch.getStudyStatus() != null ? postSearch.getStudyStatus() : postSearch.getQuestionStatus();
+            List<Long> tagIds = postSearch.getTagId() == null ? List.of()
+                    : postSearch.getTagId().stream().sorted().distinct().collect(Collectors.toList());
+            return new CountKey(type, false, Objects.toString(status, null), tagIds);
+        }
+    }
+
+    private static class CachedCount {
+        private final long value;
+        private final long loadedAt;
+
+        private CachedCount(long value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+
+        private CachedCount plus(long delta) {
+            return new CachedCount(Math.max(value + delta, 0), loadedAt);
+        }
+    }
+}
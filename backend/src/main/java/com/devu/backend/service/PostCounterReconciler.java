@@ -0,0 +1,63 @@
+package com.devu.backend.service;
+
+import com.devu.backend.repository.comment.CommentRepository;
+import com.devu.backend.repository.post.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.BiFunction;
+
+/*
+* Post.likeCount, commentCount, Comment.replyCount 백필 + 주기적 보정
+* 컬럼 추가 직후 기존 게시글 값 채우기, 혹시 모를 누락 증감을 실제 행 수로 맞춤
+* id 구간별로 트랜잭션을 나눠 긴 락을 피함
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCounterReconciler {
+
+    private static final long BATCH_SIZE = 1000;
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${devu.counter.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${devu.counter.reconcile-cron:0 30 4 * * *}")
+    public void reconcile() {
+        int posts = reconcileInBatches(postRepository.findMaxId(), postRepository::reconcileCounters);
+        log.info("Post counters reconciled : {} posts", posts);
+        int comments = reconcileInBatches(commentRepository.findMaxId(), commentRepository::reconcileReplyCounts);
+        log.info("Comment reply counters reconciled : {} comments", comments);
+    }
+
+    private int reconcileInBatches(Long maxId, BiFunction<Long, Long, Integer> batch) {
+        if (maxId == null) {
+            return 0;
+        }
+        int updated = 0;
+        for (long from = 1; from <= maxId; from += BATCH_SIZE) {
+            long fromId = from;
+            Integer count = transactionTemplate.execute(
+                    status -> batch.apply(fromId, fromId + BATCH_SIZE - 1));
+            updated += count == null ? 0 : count;
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,71 @@
+package com.devu.backend.service;
+
+import com.devu.backend.api.counter.ResponseCountersDto;
+import com.devu.backend.common.exception.PostNotFoundException;
+import com.devu.backend.common.exception.TooManyPostIdsException;
+import com.devu.backend.repository.post.PostCounterRow;
+import com.devu.backend.repository.post.PostRepository;
+import com.devu.backend.service.ranking.PostLeaderboard;
+import com.devu.backend.service.ranking.RankingMetric;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+* 게시글 카드 카운터 (조회수, 좋아요, 댓글 수)
+* 목록 한 페이지의 카운터를 id IN 한 번으로 조회 => 카드마다 /api/hits, /api/like 요청하던 것 대체
+* 조회수 => 상세 조회와 같은 기준 (랭킹에 있으면 랭킹 점수, 없으면 DB 값 + 미반영 누적분)
+* */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PostCounterService {
+
+    private final PostRepository postRepository;
+    private final HitCountBuffer hitCountBuffer;
+    private final PostLeaderboard postLeaderboard;
+
+    @Value("${devu.counter.max-ids:100}")
+    private int maxIds;
+
+    //요청 순서 유지, 중복 id 는 한 번만, 없는 게시글은 제외
+    public List<ResponseCountersDto> findCounters(List<Long> postIds) {
+        Set<Long> ids = postIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.size() > maxIds) {
+            throw new TooManyPostIdsException();
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, PostCounterRow> rows = postRepository.findCountersByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostCounterRow::getPostId, Function.identity()));
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(row -> ResponseCountersDto.builder()
+                        .postId(row.getPostId())
+                        .hits(currentHit(row.getPostId(), row.getHit()))
+                        .likes(row.getLikeCount())
+                        .comments(row.getCommentCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    public long getHits(Long postId) {
+        return currentHit(postId, postRepository.findHitById(postId).orElseThrow(PostNotFoundException::new));
+    }
+
+    private long currentHit(Long postId, Long persisted) {
+        if (postLeaderboard.contains(postId)) {
+            return postLeaderboard.score(postId, RankingMetric.HIT);
+        }
+        return hitCountBuffer.current(postId, persisted);
+    }
+}
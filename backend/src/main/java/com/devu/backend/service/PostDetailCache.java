@@ -0,0 +1,112 @@
+package com.devu.backend.service;
+
+import com.devu.backend.api.comment.CommentResponseDto;
+import com.devu.backend.controller.post.PostResponseDto;
+import com.devu.backend.entity.post.PostType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+* 게시글 상세 응답 캐시 (LRU, 응답 크기 합으로 제한)
+* 게시글,댓글,좋아요,상태가 바뀌면 커밋 후 버전 증가 (ContentVersions) => 이전 버전으로 만든 응답은 무효
+* 버전은 DB 를 읽기 전에 가져옴 => 읽는 중에 커밋된 변경은 다음 조회에서 다시 만듦
+* 조회수는 캐시하지 않고 응답 시점에 덮어씀
+* */
+@Component
+public class PostDetailCache {
+
+    //필드,리스트 등 문자열 외 고정 비용
+    private static final long ENTRY_OVERHEAD = 512;
+    private static final long COMMENT_OVERHEAD = 128;
+
+    private final long maxWeight;
+    private final ContentVersions versions;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    public PostDetailCache(@Value("${devu.detail-cache.max-weight:16777216}") long maxWeight, ContentVersions versions) {
+        this.maxWeight = maxWeight;
+        this.versions = versions;
+    }
+
+    public PostResponseDto getOrLoad(PostType type, Long postId, Supplier<PostResponseDto> loader) {
+        long version = versions.postVersion(postId);
+        synchronized (this) {
+            Entry entry = entries.get(postId);
+            if (entry != null && entry.version == version && entry.type == type) {
+                return entry.response;
+            }
+        }
+        PostResponseDto response = loader.get();
+        put(postId, new Entry(type, version, response, weigh(response)));
+        return response;
+    }
+
+    public void bump(Long postId) {
+        versions.bumpPost(postId);
+        synchronized (this) {
+            Entry removed = entries.remove(postId);
+            if (removed != null) {
+                weight -= removed.weight;
+            }
+        }
+    }
+
+    private synchronized void put(Long postId, Entry entry) {
+        if (entry.weight > maxWeight) {
+            return;
+        }
+        Entry previous = entries.put(postId, entry);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entry.weight;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+        }
+    }
+
+    //문자 수 * 2 byte 로 대략 계산
+    private long weigh(PostResponseDto response) {
+        long chars = length(response.getTitle()) + length(response.getContent()) + length(response.getUsername())
+                + sum(response.getUrl()) + sum(response.getTags());
+        long comments = 0;
+        if (response.getComments() != null) {
+            for (CommentResponseDto comment : response.getComments()) {
+                chars += length(comment.getContents()) + length(comment.getUsername()) + length(comment.getParent());
+                comments++;
+            }
+        }
+        return ENTRY_OVERHEAD + comments * COMMENT_OVERHEAD + chars * 2;
+    }
+
+    private long sum(List<String> values) {
+        return values == null ? 0 : values.stream().mapToLong(this::length).sum();
+    }
+
+    private long length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static class Entry {
+        private final PostType type;
+        private final long version;
+        private final PostResponseDto response;
+        private final long weight;
+
+        private Entry(PostType type, long version, PostResponseDto response, long weight) {
+            this.type = type;
+            this.version = version;
+            this.response = response;
+            this.weight = weight;
+        }
+    }
+}
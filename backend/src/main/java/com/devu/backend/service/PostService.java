@@ -1,11 +1,15 @@
 package com.devu.backend.service;
 
-import com.devu.backend.api.comment.CommentResponseDto;
+import com.devu.backend.api.comment.CommentCursorResponseDto;
 import com.devu.backend.api.status.ResponseStatusDto;
+import com.devu.backend.common.AfterCommit;
 import com.devu.backend.common.exception.PostNotFoundException;
 import com.devu.backend.common.exception.UserNotFoundException;
 import com.devu.backend.common.exception.UserNotMatchException;
+import com.devu.backend.config.datasource.PrimaryReader;
 import com.devu.backend.config.s3.S3Uploader;
+import com.devu.backend.controller.post.PostCursorResponseDto;
+import com.devu.backend.controller.post.PostListPage;
 import com.devu.backend.controller.post.PostRequestCreateDto;
 import com.devu.backend.controller.post.PostRequestUpdateDto;
 import com.devu.backend.controller.post.PostResponseDto;
@@ -15,20 +19,35 @@ import com.devu.backend.entity.Tag;
 import com.devu.backend.entity.User;
 import com.devu.backend.entity.post.*;
 import com.devu.backend.repository.ImageRepository;
+import com.devu.backend.repository.post.PostCursor;
+import com.devu.backend.repository.post.PostListRow;
 import com.devu.backend.repository.post.PostRepository;
 import com.devu.backend.repository.post.PostSearch;
 import com.devu.backend.repository.UserRepository;
+import com.devu.backend.service.ranking.PostLeaderboard;
+import com.devu.backend.service.ranking.RankingMetric;
+import com.devu.backend.service.ranking.RankingWindow;
+import com.devu.backend.service.search.PostSearchIndex;
+import com.devu.backend.service.search.SearchResult;
+import com.devu.backend.service.search.TagPostingIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -36,11 +55,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class PostService {
+
+    private static final int LIKED_ID_CHUNK = 500;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final S3Uploader s3Uploader;
     private final ImageRepository imageRepository;
     private final TagService tagService;
+    private final PostSearchIndex postSearchIndex;
+    private final TagPostingIndex tagPostingIndex;
+    private final PostCountService postCountService;
+    private final HitCountBuffer hitCountBuffer;
+    private final PostLeaderboard postLeaderboard;
+    private final PostDetailCache postDetailCache;
+    private final ContentVersions contentVersions;
+    private final CommentService commentService;
+    private final LikedPostCache likedPostCache;
+    private final PrimaryReader primaryReader;
+
+    @Value("${devu.search.tag-in-limit:1000}")
+    private int tagInLimit;
 
     private List<String> getImageUrl(Post post) {
         List<String> images = new ArrayList<>();
@@ -70,6 +105,7 @@ public class PostService {
         log.info("Create Chat {} By {}",chat.getTitle(),chat.getUser().getUsername());
         postRepository.save(chat);
         user.addPost(chat);
+        createdAfterCommit(chat);
         return PostResponseDto.builder()
                 .title(chat.getTitle())
                 .url(getImageUrl(chat))
@@ -97,6 +133,7 @@ public class PostService {
         log.info("Create Study {} By {}",study.getTitle(),study.getUser().getUsername());
         postRepository.save(study);
         user.addPost(study);
+        createdAfterCommit(study);
         return PostResponseDto.builder()
                 .title(study.getTitle())
                 .url(getImageUrl(study))
@@ -125,6 +162,7 @@ public class PostService {
         log.info("Create Question {} By {}",question.getTitle(),question.getUser().getUsername());
         postRepository.save(question);
         user.addPost(question);
+        createdAfterCommit(question);
         return PostResponseDto.builder()
                 .title(question.getTitle())
                 .url(getImageUrl(question))
@@ -133,6 +171,57 @@ public class PostService {
                 .build();
     }
 
+    private void afterCommit(Runnable runnable) {
+        AfterCommit.run(runnable);
+    }
+
+    private void createdAfterCommit(Post post) {
+        indexAfterCommit(post);
+        PostType type = PostType.of(post);
+        LocalDateTime createAt = post.getCreateAt();
+        afterCommit(() -> {
+            postCountService.created(type);
+            postLeaderboard.add(type, post.getId(), createAt);
+            contentVersions.bump(ContentVersions.POSTS);
+        });
+    }
+
+    private void indexAfterCommit(Post post) {
+        //태그 id 는 트랜잭션 안에서 미리 꺼내둠 (커밋 이후 지연 로딩 방지)
+        List<Long> tagIds = post.getPostTags().stream()
+                .map(postTag -> postTag.getTag().getId())
+                .collect(Collectors.toList());
+        PostType type = PostType.of(post);
+        afterCommit(() -> {
+            postSearchIndex.index(post);
+            tagPostingIndex.index(post.getId(), tagIds);
+            postCountService.changed(type);
+            postLeaderboard.evict(post.getId());
+            postDetailCache.bump(post.getId());
+        });
+    }
+
+    private void removeAfterCommit(Post post) {
+        PostType type = PostType.of(post);
+        afterCommit(() -> {
+            postSearchIndex.remove(post.getId());
+            tagPostingIndex.remove(post.getId());
+            postCountService.deleted(type);
+            postLeaderboard.remove(post.getId());
+            postDetailCache.bump(post.getId());
+        });
+    }
+
+    private PostSearch applySearch(PostSearch postSearch, PostType type) {
+        if (!StringUtils.hasText(postSearch.getSentence())) {
+            return postSearch;
+        }
+        SearchResult result = postSearchIndex.search(type, postSearch.getSentence());
+        postSearch.setPostIds(result.getPostIds());
+        postSearch.setSearchTruncated(result.isTruncated());
+        return postSearch;
+    }
+
     private void setPostOnPostTag(List<PostTag> postTags, Post post) {
         for (PostTag postTag : postTags) {
             postTag.changePost(post);
@@ -165,121 +254,219 @@ public class PostService {
     }
 
 
-    public Page<PostResponseDto> findAllChats(Pageable pageable,String order,String s) {
+    public PostListPage findAllChats(Pageable pageable,String order,String s) {
+        PostSearch postSearch = chatSearch(order, s);
+        Page<Chat> chats = postRepository.findAllChats(pageable, postSearch);
+        return toListPage(chats, postSearch, postCountService.count(PostType.CHAT, postSearch), postRepository::findChatRows);
+    }
+
+    public PostListPage findAllStudies(Pageable pageable,StudyStatus status,String order,List<String> tags,String s) {
+        PostSearch postSearch = studySearch(status, order, tags, s);
+        Page<Study> studies = postRepository.findAllStudies(pageable, postSearch);
+        return toListPage(studies, postSearch, postCountService.count(PostType.STUDY, postSearch), postRepository::findStudyRows);
+    }
+
+    public PostListPage findAllQuestions(Pageable pageable,QuestionStatus status,String order,List<String> tags,String s) {
+        PostSearch postSearch = questionSearch(status, order, tags, s);
+        Page<Question> questions = postRepository.findAllQuestions(pageable, postSearch);
+        return toListPage(questions, postSearch, postCountService.count(PostType.QUESTION, postSearch), postRepository::findQuestionRows);
+    }
+
+    /*
+    * cursor => 이전 응답의 nextCursor, 빈 문자열이면 첫 페이지
+    * */
+    public PostCursorResponseDto findChatsByCursor(String cursor, int size, String order, String s) {
+        PostCursor postCursor = PostCursor.decode(cursor, order);
+        PostSearch postSearch = chatSearch(order, s);
+        Slice<Chat> chats = postRepository.findChatsByCursor(postCursor, size, postSearch);
+        return toCursorResponse(chats, order, postSearch, postRepository::findChatRows);
+    }
+
+    public PostCursorResponseDto findStudiesByCursor(String cursor, int size, StudyStatus status, String order, List<String> tags, String s) {
+        PostCursor postCursor = PostCursor.decode(cursor, order);
+        PostSearch postSearch = studySearch(status, order, tags, s);
+        Slice<Study> studies = postRepository.findStudiesByCursor(postCursor, size, postSearch);
+        return toCursorResponse(studies, order, postSearch, postRepository::findStudyRows);
+    }
+
+    public PostCursorResponseDto findQuestionsByCursor(String cursor, int size, QuestionStatus status, String order, List<String> tags, String s) {
+        PostCursor postCursor = PostCursor.decode(cursor, order);
+        PostSearch postSearch = questionSearch(status, order, tags, s);
+        Slice<Question> questions = postRepository.findQuestionsByCursor(postCursor, size, postSearch);
+        return toCursorResponse(questions, order, postSearch, postRepository::findQuestionRows);
+    }
+
+    private PostSearch chatSearch(String order, String s) {
         PostSearch postSearch = PostSearch.builder()
                 .sentence(s)
                 .order(order)
                 .build();
-        return postRepository.findAllChats(pageable, postSearch).map(
-                chat -> PostResponseDto
-                        .builder()
-                        .id(chat.getId())
-                        .title(chat.getTitle())
-                        .content(chat.getContent())
-                        .username(chat.getUser().getUsername())
-                        .hit(chat.getHit())
-                        .like(chat.getLikes().size())
-                        .commentsSize(chat.getComments().size())
-                        .createAt(chat.getCreateAt())
-                        .lastModifiedAt(chat.getLastModifiedAt())
-                        .build()
-        );
+        return applySearch(postSearch, PostType.CHAT);
     }
 
-    public Page<PostResponseDto> findAllStudies(Pageable pageable,StudyStatus status,String order,List<String> tags,String s) {
+    private PostSearch studySearch(StudyStatus status, String order, List<String> tags, String s) {
         PostSearch postSearch = PostSearch.builder()
                 .order(order)
                 .sentence(s)
                 .tagId(Optional.ofNullable(tags).orElseGet(Collections::emptyList).stream().map(tagService::findTagIdByString).collect(Collectors.toList()))
                 .studyStatus(status)
                 .build();
-
-        return postRepository.findAllStudies(pageable,postSearch).map(
-                study -> PostResponseDto
-                        .builder()
-                        .id(study.getId())
-                        .title(study.getTitle())
-                        .content(study.getContent())
-                        .username(study.getUser().getUsername())
-                        .hit(study.getHit())
-                        .studyStatus(study.getStudyStatus())
-                        .like(study.getLikes().size())
-                        .tags(study.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
-                        .commentsSize(study.getComments().size())
-                        .createAt(study.getCreateAt())
-                        .lastModifiedAt(study.getLastModifiedAt())
-                        .build()
-        );
+        return applyTagPostings(applySearch(postSearch, PostType.STUDY));
     }
 
-    public Page<PostResponseDto> findAllQuestions(Pageable pageable,QuestionStatus status,String order,List<String> tags,String s) {
+    private PostSearch questionSearch(QuestionStatus status, String order, List<String> tags, String s) {
         PostSearch postSearch = PostSearch.builder()
                 .order(order)
                 .sentence(s)
                 .tagId(Optional.ofNullable(tags).orElseGet(Collections::emptyList).stream().map(tagService::findTagIdByString).collect(Collectors.toList()))
                 .questionStatus(status)
                 .build();
-        return postRepository.findAllQuestions(pageable,postSearch).map(
-                question -> PostResponseDto
-                        .builder()
-                        .id(question.getId())
-                        .title(question.getTitle())
-                        .content(question.getContent())
-                        .username(question.getUser().getUsername())
-                        .hit(question.getHit())
-                        .questionStatus(question.getQuestionStatus())
-                        .like(question.getLikes().size())
-                        .tags(question.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
-                        .commentsSize(question.getComments().size())
-                        .createAt(question.getCreateAt())
-                        .lastModifiedAt(question.getLastModifiedAt())
-                        .build()
-        );
+        return applyTagPostings(applySearch(postSearch, PostType.QUESTION));
+    }
+
+    /*
+    * 태그 AND 필터를 비트맵 교집합으로 계산
+    * 검색 결과가 있으면 관련도 순서를 유지한 채 교집합만 남김
+    * 교집합이 tagInLimit 보다 크면 IN 목록이 과도하므로 기존 post_tag 조인으로 처리
+    * */
+    private PostSearch applyTagPostings(PostSearch postSearch) {
+        if (postSearch.getTagId().isEmpty()) {
+            return postSearch;
+        }
+        Roaring64NavigableMap matched = tagPostingIndex.intersect(postSearch.getTagId());
+        if (postSearch.getPostIds() != null) {
+            postSearch.setPostIds(postSearch.getPostIds().stream()
+                    .filter(matched::contains)
+                    .collect(Collectors.toList()));
+            postSearch.setTagId(new ArrayList<>());
+            return postSearch;
+        }
+        if (matched.getLongCardinality() <= tagInLimit) {
+            List<Long> tagPostIds = new ArrayList<>();
+            matched.forEach(tagPostIds::add);
+            postSearch.setTagPostIds(tagPostIds);
+        }
+        return postSearch;
+    }
+
+    /*
+    * 페이지 조회 후 작성자, 태그는 id 목록으로 한 번에 프로젝션 조회
+    * => 게시글마다 user, postTags, tag 를 지연 로딩하던 N+1 제거
+    * total => PostCountService 의 실제 전체 개수
+    * */
+    private <T extends Post> PostListPage toListPage(Page<T> page, PostSearch postSearch, long total, Function<List<Long>, List<PostListRow>> rowLoader) {
+        List<PostResponseDto> posts = toListDtos(page.getContent(), rowLoader);
+        return new PostListPage(posts, page.getPageable(), total, postSearch.isSearchTruncated());
+    }
+
+    private <T extends Post> PostCursorResponseDto toCursorResponse(Slice<T> slice, String order, PostSearch postSearch, Function<List<Long>, List<PostListRow>> rowLoader) {
+        List<T> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            nextCursor = nextCursor(content.get(content.size() - 1), order).encode();
+        }
+        return PostCursorResponseDto.builder()
+                .posts(toListDtos(content, rowLoader))
+                .nextCursor(nextCursor)
+                .hasNext(slice.hasNext())
+                .searchTruncated(postSearch.isSearchTruncated())
+                .build();
+    }
+
+    private <T extends Post> List<PostResponseDto> toListDtos(List<T> posts, Function<List<Long>, List<PostListRow>> rowLoader) {
+        List<Long> ids = posts.stream().map(Post::getId).collect(Collectors.toList());
+        return rowLoader.apply(ids).stream().map(this::toListDto).collect(Collectors.toList());
+    }
+
+    private PostCursor nextCursor(Post post, String order) {
+        if (!StringUtils.hasText(order)) {
+            return PostCursor.ofCreateAt(post.getCreateAt(), post.getId());
+        }
+        if (order.equals("likes")) {
+            return PostCursor.ofCount(order, post.getLikeCount(), post.getId());
+        }
+        return PostCursor.ofCount(order, post.getCommentCount(), post.getId());
+    }
+
+    private PostResponseDto toListDto(PostListRow row) {
+        return PostResponseDto
+                .builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .content(row.getContent())
+                .username(row.getUsername())
+                .hit(hitCountBuffer.current(row.getId(), row.getHit()))
+                .studyStatus(row.getStudyStatus())
+                .questionStatus(row.getQuestionStatus())
+                .like(row.getLikeCount().intValue())
+                .tags(row.getTags())
+                .commentsSize(row.getCommentCount().intValue())
+                .createAt(row.getCreateAt())
+                .lastModifiedAt(row.getLastModifiedAt())
+                .build();
+    }
+
+    /*
+    * 조회 1회 반영 후 현재 조회수로 덮어쓴 복사본 반환 (캐시된 응답은 그대로 둠)
+    * 현재 조회수 => PostLeaderboard 가 DB 값 + 미반영 누적분 + 이후 조회를 계속 따라감
+    * 랭킹 후보가 아니면 primary 의 hit_count + 미반영 누적분 (캐시된 hit 는 flush 이후 낡은 값이라 쓰지 않음)
+    * */
+    private PostResponseDto withCurrentHit(PostType type, PostResponseDto response) {
+        Long id = response.getId();
+        recordHit(id);
+        long hit = postLeaderboard.contains(id)
+                ? postLeaderboard.score(id, RankingMetric.HIT)
+                : hitCountBuffer.current(id, () -> primaryReader.read(() -> postRepository.findHitById(id))
+                        .orElse(response.getHit()));
+        //랭킹 후보가 아니면 현재 점수로 제안 (커트라인을 넘으면 후보로 들어옴)
+        postLeaderboard.offer(type, id, response.getCreateAt(), hit, Optional.ofNullable(response.getLike()).orElse(0));
+        log.info("Current Hit : {}", hit);
+        return response.toBuilder().hit(hit).build();
+    }
+
+    //조회 1회 반영, 304 로 응답한 상세 조회도 여기로 (메모리만 갱신)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordHit(Long id) {
+        hitCountBuffer.increment(id);
+        postLeaderboard.hit(id);
     }
 
-    @Transactional
     public PostResponseDto findChatById(Long id) {
         log.info("Selected Chat ID : {}",id);
-        Chat chat = postRepository.findChatById(id).orElseThrow(PostNotFoundException::new);
+        PostResponseDto response = postDetailCache.getOrLoad(PostType.CHAT, id,
+                () -> primaryReader.read(() -> toChatDetailDto(postRepository.findChatDetailById(id).orElseThrow(PostNotFoundException::new))));
+        return withCurrentHit(PostType.CHAT, response);
+    }
+
+    private PostResponseDto toChatDetailDto(Chat chat) {
         log.info("Selected Chat Title : {}", chat.getTitle());
-        chat.plusHit();
-        log.info("Current Hit : {}", chat.getHit());
-        log.info("Current Like : {}", chat.getLikes().size());
+        CommentCursorResponseDto comments = commentService.findComments(chat.getId(), null, null);
         return PostResponseDto.builder()
                 .id(chat.getId())
                 .hit(chat.getHit())
                 .username(chat.getUser().getUsername())
                 .content(chat.getContent())
                 .title(chat.getTitle())
-                .like(chat.getLikes().size())
-                .comments(
-                        chat.getComments().stream()
-                                .map(comment -> CommentResponseDto.builder()
-                                        .username(comment.getUser().getUsername())
-                                        .contents(comment.getContents())
-                                        .commentId(comment.getId())
-                                        .deleted(comment.isDeleted())
-                                        .group(comment.getGroupNum())
-                                        .parent(comment.getParent())
-                                        .lastModifiedAt(comment.getLastModifiedAt())
-                                        .createAt(comment.getCreateAt())
-                                        .build()
-                                ).collect(Collectors.toList())
-                )
+                .like(chat.getLikeCount().intValue())
+                .commentsSize(chat.getCommentCount().intValue())
+                .comments(comments.getComments())
+                .nextCommentCursor(comments.getNextCursor())
                 .tags(chat.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
                 .createAt(chat.getCreateAt())
                 .url(chat.getImages().stream().map(Image::getPath).collect(Collectors.toList()))
                 .build();
     }
 
-    @Transactional
     public PostResponseDto findStudyById(Long id) {
         log.info("Selected Study ID : {}",id);
-        Study study = postRepository.findStudyById(id).orElseThrow(PostNotFoundException::new);
+        PostResponseDto response = postDetailCache.getOrLoad(PostType.STUDY, id,
+                () -> primaryReader.read(() -> toStudyDetailDto(postRepository.findStudyDetailById(id).orElseThrow(PostNotFoundException::new))));
+        return withCurrentHit(PostType.STUDY, response);
+    }
+
+    private PostResponseDto toStudyDetailDto(Study study) {
         log.info("Selected Study Title : {}", study.getTitle());
-        study.plusHit();
-        log.info("Current Hit : {}", study.getHit());
-        log.info("Current Like : {}", study.getLikes().size());
+        CommentCursorResponseDto comments = commentService.findComments(study.getId(), null, null);
         return PostResponseDto.builder()
                 .id(study.getId())
                 .hit(study.getHit())
@@ -287,35 +474,26 @@ public class PostService {
                 .content(study.getContent())
                 .title(study.getTitle())
                 .studyStatus(study.getStudyStatus())
-                .like(study.getLikes().size())
-                .comments(
-                        study.getComments().stream()
-                                .map(comment -> CommentResponseDto.builder()
-                                        .username(comment.getUser().getUsername())
-                                        .contents(comment.getContents())
-                                        .commentId(comment.getId())
-                                        .deleted(comment.isDeleted())
-                                        .group(comment.getGroupNum())
-                                        .parent(comment.getParent())
-                                        .createAt(comment.getCreateAt())
-                                        .lastModifiedAt(comment.getLastModifiedAt())
-                                        .build()
-                                ).collect(Collectors.toList())
-                )
+                .like(study.getLikeCount().intValue())
+                .commentsSize(study.getCommentCount().intValue())
+                .comments(comments.getComments())
+                .nextCommentCursor(comments.getNextCursor())
                 .tags(study.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
                 .createAt(study.getCreateAt())
                 .url(study.getImages().stream().map(Image::getPath).collect(Collectors.toList()))
                 .build();
     }
 
-    @Transactional
     public PostResponseDto findQuestionById(Long id) {
         log.info("Selected Question ID : {}",id);
-        Question question = postRepository.findQuestionById(id).orElseThrow(PostNotFoundException::new);
+        PostResponseDto response = postDetailCache.getOrLoad(PostType.QUESTION, id,
+                () -> primaryReader.read(() -> toQuestionDetailDto(postRepository.findQuestionDetailById(id).orElseThrow(PostNotFoundException::new))));
+        return withCurrentHit(PostType.QUESTION, response);
+    }
+
+    private PostResponseDto toQuestionDetailDto(Question question) {
         log.info("Selected Question Title : {}", question.getTitle());
-        question.plusHit();
-        log.info("Current Hit : {}", question.getHit());
-        log.info("Current Like : {}", question.getLikes().size());
+        CommentCursorResponseDto comments = commentService.findComments(question.getId(), null, null);
         return PostResponseDto.builder()
                 .id(question.getId())
                 .hit(question.getHit())
@@ -323,21 +501,10 @@ public class PostService {
                 .content(question.getContent())
                 .title(question.getTitle())
                 .questionStatus(question.getQuestionStatus())
-                .like(question.getLikes().size())
-                .comments(
-                        question.getComments().stream()
-                                .map(comment -> CommentResponseDto.builder()
-                                        .username(comment.getUser().getUsername())
-                                        .contents(comment.getContents())
-                                        .commentId(comment.getId())
-                                        .deleted(comment.isDeleted())
-                                        .group(comment.getGroupNum())
-                                        .parent(comment.getParent())
-                                        .createAt(comment.getCreateAt())
-                                        .lastModifiedAt(comment.getLastModifiedAt())
-                                        .build()
-                                ).collect(Collectors.toList())
-                )
+                .like(question.getLikeCount().intValue())
+                .commentsSize(question.getCommentCount().intValue())
+                .comments(comments.getComments())
+                .nextCommentCursor(comments.getNextCursor())
                 .tags(question.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
                 .createAt(question.getCreateAt())
                 .url(question.getImages().stream().map(Image::getPath).collect(Collectors.toList()))
@@ -369,6 +536,7 @@ public class PostService {
             updateTags(updateDto, chat);
         }
         chat.updatePost(updateDto);
+        indexAfterCommit(chat);
     }
 
     @Transactional
@@ -379,6 +547,7 @@ public class PostService {
             updateTags(updateDto, study);
         }
         study.updatePost(updateDto);
+        indexAfterCommit(study);
     }
 
     @Transactional
@@ -389,35 +558,35 @@ public class PostService {
             updateTags(updateDto, question);
         }
         question.updatePost(updateDto);
+        indexAfterCommit(question);
     }
 
+    /*
+    * 기존 태그와 요청 태그의 차집합만 반영 => 바뀐 PostTag 만 insert,delete
+    * */
     private void updateTags(PostRequestUpdateDto updateDto, Post post) {
-        clearPostTagList(post);
         List<Tag> tags = tagService.findTags(updateDto.getTags().stream().map(String::toUpperCase).collect(Collectors.toList()));
-        List<PostTag> collect = tags.stream().map(t -> PostTag.builder().tag(t).post(post).build()).collect(Collectors.toList());
-        for (PostTag postTag : collect) {
-            post.getPostTags().add(postTag);
+        Set<Long> requested = tags.stream().map(Tag::getId).collect(Collectors.toSet());
+        post.getPostTags().removeIf(postTag -> !requested.contains(postTag.getTag().getId()));
+        Set<Long> current = post.getPostTags().stream().map(postTag -> postTag.getTag().getId()).collect(Collectors.toSet());
+        for (Tag tag : tags) {
+            if (!current.contains(tag.getId())) {
+                post.getPostTags().add(PostTag.builder().tag(tag).post(post).build());
+            }
         }
     }
 
-    private void clearPostTagList(Post post) {
-        post.getPostTags().clear();
-    }
-
+    //양방향 비교 (기존 태그가 요청에 모두 포함되어도 새 태그가 추가된 경우 다름)
     private boolean isSameTags(List<PostTag> postTags,List<String> input) {
-        for (PostTag postTag : postTags) {
-            String tagName = tagService.findTagName(postTag);
-            if (!input.contains(tagName)) {
-                return false;
-            }
-        }
-        return true;
+        Set<String> current = postTags.stream().map(this::getTagNameFromPostTags).collect(Collectors.toSet());
+        return current.equals(new HashSet<>(input));
     }
 
     @Transactional
     public void deleteChat(Chat chat) {
         deleteImage(chat);
         postRepository.delete(chat);
+        removeAfterCommit(chat);
     }
 
     @Transactional
@@ -434,18 +603,24 @@ public class PostService {
     public void deleteStudy(Study study) {
         deleteImage(study);
         postRepository.delete(study);
+        removeAfterCommit(study);
     }
 
     @Transactional
     public void deleteQuestion(Question question) {
         deleteImage(question);
         postRepository.delete(question);
+        removeAfterCommit(question);
     }
 
     @Transactional
     public ResponseStatusDto updateStudyStatus(Long studyId,String username) {
         Study study = postRepository.findStudyById(studyId).orElseThrow(PostNotFoundException::new);
         isOwner(study, username);
+        afterCommit(() -> {
+            postCountService.changed(PostType.STUDY);
+            postDetailCache.bump(studyId);
+        });
         if (study.getStudyStatus() == StudyStatus.ACTIVE) {
             study.updateStatus(StudyStatus.CLOSED);
             return ResponseStatusDto.builder()
@@ -464,6 +639,10 @@ public class PostService {
     public ResponseStatusDto updateQuestionStatus(Long questionId,String username) {
         Question question = postRepository.findQuestionById(questionId).orElseThrow(PostNotFoundException::new);
         isOwner(question, username);
+        afterCommit(() -> {
+            postCountService.changed(PostType.QUESTION);
+            postDetailCache.bump(questionId);
+        });
         if (question.getQuestionStatus() == QuestionStatus.UNSOLVED) {
             question.updateStatus(QuestionStatus.SOLVED);
             return ResponseStatusDto.builder()
@@ -484,110 +663,69 @@ public class PostService {
         }
     }
 
-    public List<PostResponseDto> getTop3ChatByHits() {
-        return postRepository.findTop3ChatByOrderByHitDesc()
-                .orElseThrow(PostNotFoundException::new)
-                .stream().map(c -> PostResponseDto.builder()
-                        .id(c.getId())
-                        .title(c.getTitle())
-                        .hit(c.getHit())
-                        .content(c.getContent())
-                        .like(c.getLikes().size())
-                        .tags(c.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
-                        .username(c.getUser().getUsername())
-                        .build()
-                ).collect(Collectors.toList());
+    /*
+    * 랭킹 => PostLeaderboard 메모리 정렬 집합, 화면 스냅샷이 있으면 쿼리 없음
+    * k => 개수 (기본 3), window => today, week, all
+    * */
+    public List<PostResponseDto> getTopChatsByHits(int k, String window) {
+        return getTopPosts(PostType.CHAT, RankingMetric.HIT, k, window, postRepository::findChatRows);
     }
 
-    public List<PostResponseDto> getTop3ChatByLikes() {
-        return postRepository.findTop3ChatByOrderByLikes().orElseThrow(PostNotFoundException::new)
-                .stream().map(c -> PostResponseDto.builder()
-                        .id(c.getId())
-                        .title(c.getTitle())
-                        .hit(c.getHit())
-                        .content(c.getContent())
-                        .like(c.getLikes().size())
-                        .tags(c.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
-                        .username(c.getUser().getUsername())
-                        .build()
-                ).collect(Collectors.toList());
+    public List<PostResponseDto> getTopChatsByLikes(int k, String window) {
+        return getTopPosts(PostType.CHAT, RankingMetric.LIKES, k, window, postRepository::findChatRows);
     }
 
-    public List<PostResponseDto> getTop3StudyByHits() {
-        return postRepository.findTop3StudyByOrderByHitDesc().orElseThrow(PostNotFoundException::new)
-                .stream().map(s -> PostResponseDto.builder()
-                        .id(s.getId())
-                        .title(s.getTitle())
-                        .hit(s.getHit())
-                        .content(s.getContent())
-                        .like(s.getLikes().size())
-                        .tags(s.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
-                        .username(s.getUser().getUsername())
-                        .build()
-                ).collect(Collectors.toList());
+    public List<PostResponseDto> getTopStudiesByHits(int k, String window) {
+        return getTopPosts(PostType.STUDY, RankingMetric.HIT, k, window, postRepository::findStudyRows);
     }
 
-    public List<PostResponseDto> getTop3StudyByLikes() {
-        return postRepository.findTop3StudyByOrderByLikes().orElseThrow(PostNotFoundException::new)
-                .stream().map(s -> PostResponseDto.builder()
-                        .id(s.getId())
-                        .title(s.getTitle())
-                        .hit(s.getHit())
-                        .content(s.getContent())
-                        .like(s.getLikes().size())
-                        .tags(s.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
-                        .username(s.getUser().getUsername())
-                        .build()
-                ).collect(Collectors.toList());
+    public List<PostResponseDto> getTopStudiesByLikes(int k, String window) {
+        return getTopPosts(PostType.STUDY, RankingMetric.LIKES, k, window, postRepository::findStudyRows);
     }
 
-    public List<PostResponseDto> getTop3QuestionByHits() {
-        return postRepository.findTop3QuestionByOrderByHitDesc().orElseThrow(PostNotFoundException::new)
-                .stream().map(q -> PostResponseDto.builder()
-                        .id(q.getId())
-                        .title(q.getTitle())
-                        .hit(q.getHit())
-                        .content(q.getContent())
-                        .like(q.getLikes().size())
-                        .tags(q.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
-                        .username(q.getUser().getUsername())
-                        .build()
-                ).collect(Collectors.toList());
+    public List<PostResponseDto> getTopQuestionsByHits(int k, String window) {
+        return getTopPosts(PostType.QUESTION, RankingMetric.HIT, k, window, postRepository::findQuestionRows);
     }
 
-    public List<PostResponseDto> getTop3QuestionByLikes() {
-        return postRepository.findTop3QuestionByOrderByLikes().orElseThrow(PostNotFoundException::new)
-                .stream().map(q -> PostResponseDto.builder()
-                        .id(q.getId())
-                        .title(q.getTitle())
-                        .hit(q.getHit())
-                        .content(q.getContent())
-                        .like(q.getLikes().size())
-                        .tags(q.getPostTags().stream().map(this::getTagNameFromPostTags).collect(Collectors.toList()))
-                        .username(q.getUser().getUsername())
+    public List<PostResponseDto> getTopQuestionsByLikes(int k, String window) {
+        return getTopPosts(PostType.QUESTION, RankingMetric.LIKES, k, window, postRepository::findQuestionRows);
+    }
+
+    private List<PostResponseDto> getTopPosts(PostType type, RankingMetric metric, int k, String window,
+                                              Function<List<Long>, List<PostListRow>> rowLoader) {
+        List<Long> ids = postLeaderboard.top(type, metric, k, RankingWindow.of(window));
+        return postLeaderboard.rows(ids, missing -> primaryReader.read(() -> rowLoader.apply(missing))).stream()
+                .map(row -> PostResponseDto.builder()
+                        .id(row.getId())
+                        .title(row.getTitle())
+                        .hit(postLeaderboard.score(row.getId(), RankingMetric.HIT))
+                        .content(row.getContent())
+                        .like((int) postLeaderboard.score(row.getId(), RankingMetric.LIKES))
+                        .tags(row.getTags())
+                        .username(row.getUsername())
                         .build()
                 ).collect(Collectors.toList());
     }
 
     public int getAllChatSize() {
-        return postRepository.findAllChatsWithoutSorting().size();
+        return (int) postCountService.countAll(PostType.CHAT);
     }
 
     public int getAllStudiesSize() {
-        return postRepository.findAllStudiesWithoutSorting().size();
+        return (int) postCountService.countAll(PostType.STUDY);
     }
 
     public int getAllQuestionsSize() {
-        return postRepository.findAllQuestionsWithoutSorting().size();
+        return (int) postCountService.countAll(PostType.QUESTION);
     }
 
-    public List<PostResponseDto> findAllChatsByUser(User user) {
-        return postRepository.findAllChatsByUser(user).orElseThrow(PostNotFoundException::new)
+    public List<PostResponseDto> findAllChatsByUser(Long userId) {
+        return postRepository.findAllChatsByUser(userRepository.getById(userId)).orElseThrow(PostNotFoundException::new)
                 .stream().map(c -> PostResponseDto.builder()
                         .id(c.getId())
-                        .hit(c.getHit())
-                        .like(c.getLikes().size())
-                        .commentsSize(c.getComments().size())
+                        .hit(hitCountBuffer.current(c.getId(), c.getHit()))
+                        .like(c.getLikeCount().intValue())
+                        .commentsSize(c.getCommentCount().intValue())
                         .title(c.getTitle())
                         .content(c.getContent())
                         .createAt(c.getCreateAt())
@@ -596,13 +734,13 @@ public class PostService {
                 ).collect(Collectors.toList());
     }
 
-    public List<PostResponseDto> findAllStudiesByUser(User user) {
-        return postRepository.findAllStudiesByUser(user).orElseThrow(PostNotFoundException::new)
+    public List<PostResponseDto> findAllStudiesByUser(Long userId) {
+        return postRepository.findAllStudiesByUser(userRepository.getById(userId)).orElseThrow(PostNotFoundException::new)
                 .stream().map(s -> PostResponseDto.builder()
                         .id(s.getId())
-                        .hit(s.getHit())
-                        .like(s.getLikes().size())
-                        .commentsSize(s.getComments().size())
+                        .hit(hitCountBuffer.current(s.getId(), s.getHit()))
+                        .like(s.getLikeCount().intValue())
+                        .commentsSize(s.getCommentCount().intValue())
                         .title(s.getTitle())
                         .content(s.getContent())
                         .createAt(s.getCreateAt())
@@ -613,13 +751,13 @@ public class PostService {
                 ).collect(Collectors.toList());
     }
 
-    public List<PostResponseDto> findAllQuestionsByUser(User user) {
-        return postRepository.findAllQuestionsByUser(user).orElseThrow(PostNotFoundException::new)
+    public List<PostResponseDto> findAllQuestionsByUser(Long userId) {
+        return postRepository.findAllQuestionsByUser(userRepository.getById(userId)).orElseThrow(PostNotFoundException::new)
                 .stream().map(q -> PostResponseDto.builder()
                         .id(q.getId())
-                        .hit(q.getHit())
-                        .like(q.getLikes().size())
-                        .commentsSize(q.getComments().size())
+                        .hit(hitCountBuffer.current(q.getId(), q.getHit()))
+                        .like(q.getLikeCount().intValue())
+                        .commentsSize(q.getCommentCount().intValue())
                         .title(q.getTitle())
                         .content(q.getContent())
                         .createAt(q.getCreateAt())
@@ -630,50 +768,33 @@ public class PostService {
                 ).collect(Collectors.toList());
     }
 
-    public List<PostResponseDto> findAllLikeChatsByUser(User user) {
-        return postRepository.findAllLikeChatsByUserId(user.getId()).orElseThrow(PostNotFoundException::new)
-                .stream().map(c -> PostResponseDto.builder()
-                        .id(c.getId())
-                        .hit(c.getHit())
-                        .like(c.getLikes().size())
-                        .commentsSize(c.getComments().size())
-                        .title(c.getTitle())
-                        .content(c.getContent())
-                        .createAt(c.getCreateAt())
-                        .lastModifiedAt(c.getLastModifiedAt())
-                        .build()).collect(Collectors.toList());
+    /*
+    * 내가 좋아요한 글 => 사용자 비트맵의 id 로 목록 프로젝션만 조회 (likes 조인 X)
+    * likes 에 좋아요 시각이 없으므로 좋아요한 순서가 아니라 최신 글(id 큰 순) 먼저
+    * 좋아요가 많은 사용자도 IN 목록이 커지지 않도록 LIKED_ID_CHUNK 개씩 나눠 조회
+    * */
+    public List<PostResponseDto> findAllLikeChatsByUser(Long userId) {
+        return toLikedDtos(userId, postRepository::findChatRows);
     }
 
-    public List<PostResponseDto> findAllLikeStudiesByUser(User user) {
-        return postRepository.findAllLikeStudiesByUserId(user.getId()).orElseThrow(PostNotFoundException::new)
-                .stream().map(s -> PostResponseDto.builder()
-                        .id(s.getId())
-                        .hit(s.getHit())
-                        .like(s.getLikes().size())
-                        .commentsSize(s.getComments().size())
-                        .title(s.getTitle())
-                        .content(s.getContent())
-                        .createAt(s.getCreateAt())
-                        .lastModifiedAt(s.getLastModifiedAt())
-                        .studyStatus(s.getStudyStatus())
-                        .tags(s.getPostTags().stream().map(pt -> pt.getTag().getName()).collect(Collectors.toList()))
-                        .build()).collect(Collectors.toList());
+    public List<PostResponseDto> findAllLikeStudiesByUser(Long userId) {
+        return toLikedDtos(userId, postRepository::findStudyRows);
     }
 
-    public List<PostResponseDto> findAllLikeQuestionsByUser(User user) {
-        return postRepository.findAllLikeQuestionsByUserId(user.getId()).orElseThrow(PostNotFoundException::new)
-                .stream().map(q -> PostResponseDto.builder()
-                        .id(q.getId())
-                        .hit(q.getHit())
-                        .like(q.getLikes().size())
-                        .commentsSize(q.getComments().size())
-                        .title(q.getTitle())
-                        .content(q.getContent())
-                        .createAt(q.getCreateAt())
-                        .lastModifiedAt(q.getLastModifiedAt())
-                        .questionStatus(q.getQuestionStatus())
-                        .tags(q.getPostTags().stream().map(pt -> pt.getTag().getName()).collect(Collectors.toList()))
-                        .build()).collect(Collectors.toList());
+    public List<PostResponseDto> findAllLikeQuestionsByUser(Long userId) {
+        return toLikedDtos(userId, postRepository::findQuestionRows);
+    }
+
+    private List<PostResponseDto> toLikedDtos(Long userId, Function<List<Long>, List<PostListRow>> rowLoader) {
+        List<Long> postIds = likedPostCache.postIds(userId);
+        List<PostResponseDto> likes = new ArrayList<>();
+        for (int from = 0; from < postIds.size(); from += LIKED_ID_CHUNK) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + LIKED_ID_CHUNK, postIds.size()));
+            for (PostListRow row : rowLoader.apply(chunk)) {
+                likes.add(toListDto(row).toBuilder().likedByMe(true).build());
+            }
+        }
+        return likes;
     }
 }
 
@@ -0,0 +1,117 @@
+package com.devu.backend.service;
+
+import com.devu.backend.config.auth.token.RefreshToken;
+import com.devu.backend.config.auth.token.TokenDigest;
+import com.devu.backend.config.auth.token.TokenService;
+import com.devu.backend.repository.RefreshTokenRepository;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/*
+* refresh token 저장소
+* DB => digest + 만료 시각 (unique index), 만료된 행은 주기적으로 삭제
+* 메모리 => 로그아웃 됐거나 DB 에 없는 토큰 digest (토큰 만료 시각까지)
+*          같은 죽은 토큰으로 계속 요청해도 DB 를 다시 조회하지 않음
+*          개수를 넘으면 오래된 것부터 버림 => DB 확인으로 돌아갈 뿐 결과는 같음
+* */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenService tokenService;
+    private final int maxRevoked;
+    //digest => 토큰 만료 시각(ms)
+    private final LinkedHashMap<String, Long> revoked = new LinkedHashMap<>();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TokenService tokenService,
+                               @Value("${devu.auth.revoked-max-entries:100000}") int maxRevoked) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenService = tokenService;
+        this.maxRevoked = maxRevoked;
+    }
+
+    @Transactional
+    public void save(String refreshToken) {
+        Claims claims = tokenService.getValidClaims(refreshToken).orElseThrow(IllegalStateException::new);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenDigest(TokenDigest.of(refreshToken))
+                .expiresAt(toLocalDateTime(claims.getExpiration().getTime()))
+                .build());
+    }
+
+    /*
+    * 서명,만료 확인 후 DB 에 있는 토큰만 유효
+    * 읽기 전용이면 복제 DB 로 갈 수 있음 => 방금 로그인한 토큰을 못 찾고 죽은 토큰으로 기억할 수 있어서 원본 DB 에서 조회
+    * */
+    @Transactional
+    public boolean isActive(String refreshToken) {
+        String digest = TokenDigest.of(refreshToken);
+        long now = System.currentTimeMillis();
+        if (isRevoked(digest, now)) {
+            return false;
+        }
+        Optional<Claims> claims = tokenService.getValidClaims(refreshToken);
+        if (claims.isEmpty()) {
+            return false;
+        }
+        boolean active = refreshTokenRepository.existsByTokenDigestAndExpiresAtAfter(digest, toLocalDateTime(now));
+        if (!active) {
+            remember(digest, claims.get().getExpiration().getTime());
+        }
+        return active;
+    }
+
+    @Transactional
+    public void revoke(String refreshToken) {
+        String digest = TokenDigest.of(refreshToken);
+        refreshTokenRepository.deleteByTokenDigest(digest);
+        tokenService.getValidClaims(refreshToken)
+                .ifPresent(claims -> remember(digest, claims.getExpiration().getTime()));
+    }
+
+    @Transactional
+    @Scheduled(cron = "${devu.auth.refresh-sweep-cron:0 15 * * * *}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        int deleted = refreshTokenRepository.deleteExpired(toLocalDateTime(now));
+        synchronized (revoked) {
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        }
+        log.info("Expired refresh tokens deleted : {}", deleted);
+    }
+
+    private boolean isRevoked(String digest, long now) {
+        synchronized (revoked) {
+            Long expiresAt = revoked.get(digest);
+            return expiresAt != null && expiresAt > now;
+        }
+    }
+
+    private void remember(String digest, long expiresAt) {
+        synchronized (revoked) {
+            revoked.put(digest, expiresAt);
+            Iterator<Long> eldest = revoked.values().iterator();
+            while (revoked.size() > maxRevoked && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -1,17 +1,26 @@
 package com.devu.backend.service;
 
+import com.devu.backend.common.AfterCommit;
 import com.devu.backend.common.exception.TagNotFoundException;
+import com.devu.backend.config.datasource.PrimaryReader;
 import com.devu.backend.entity.PostTag;
 import com.devu.backend.entity.Tag;
 import com.devu.backend.repository.post.PostRepository;
 import com.devu.backend.repository.TagRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -21,26 +30,105 @@ public class TagService {
 
     private final TagRepository tagRepository;
     private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PrimaryReader primaryReader;
 
+    private static final String INSERT_TAG_SQL =
+            "insert into tag (name) select ? from dual where not exists (select 1 from tag where name = ?)";
+
+    /*
+    * 태그 이름 <=> id 사전
+    * 태그 종류는 적고 거의 바뀌지 않음 => 시작 시 전부 읽고 태그 생성 시에만 추가
+    * 사전에 없는 값(다른 서버에서 생성된 태그 등)만 DB 조회 후 채움 => 복제본에는 아직 없을 수 있어서 primary 에서 읽음
+    * */
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDictionary() {
+        tagRepository.findAll().forEach(this::register);
+        log.info("Tag dictionary loaded : {} tags", idsByName.size());
+    }
+
+    /*
+    * 태그 upsert => 태그 수와 무관하게 select 1 + batch insert 1 + select 1 (잠금 읽기)
+    * 없는 이름만 insert, 동시에 같은 태그를 만드는 요청은 unique 제약으로 걸러냄
+    * */
     @Transactional
     public List<Tag> findTags(List<String> tags) {
-        List<Tag> findTags = new ArrayList<>();
-        for (String tag : tags) {
-            if (tagRepository.findTagByName(tag).isEmpty()) {
-                tagRepository.save(Tag.builder().name(tag).build());
+        List<String> names = tags.stream().distinct().collect(Collectors.toList());
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Tag> found = toNameMap(tagRepository.findAllByNameIn(names));
+        List<String> missing = names.stream()
+                .filter(name -> !found.containsKey(name))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            insertIgnoringDuplicates(missing);
+            //첫 조회의 스냅샷으로 다시 읽으면 그 사이 다른 요청이 커밋한 태그가 안 보임 => 잠금 읽기
+            List<Tag> created = tagRepository.findAllByNameInForShare(missing);
+            found.putAll(toNameMap(created));
+            AfterCommit.run(() -> created.forEach(this::register));
+        }
+        List<Tag> result = new ArrayList<>();
+        for (String name : names) {
+            Tag tag = found.get(name);
+            if (tag == null) {
+                log.warn("Tag {} not found after insert", name);
+                throw new TagNotFoundException();
+            }
+            result.add(tag);
+        }
+        return result;
+    }
+
+    private void insertIgnoringDuplicates(List<String> names) {
+        List<Object[]> batch = names.stream()
+                .map(name -> new Object[]{name, name})
+                .collect(Collectors.toList());
+        try {
+            jdbcTemplate.batchUpdate(INSERT_TAG_SQL, batch);
+        } catch (DataIntegrityViolationException e) {
+            //다른 요청이 먼저 만든 태그 => 한 건씩 다시 넣고 중복은 무시
+            for (Object[] args : batch) {
+                try {
+                    jdbcTemplate.update(INSERT_TAG_SQL, args);
+                } catch (DuplicateKeyException ignored) {
+                    log.info("Tag {} already created", args[0]);
+                }
             }
-            findTags.add(tagRepository.findTagByName(tag).get());
         }
-        return findTags;
+    }
+
+    private Map<String, Tag> toNameMap(List<Tag> tags) {
+        return tags.stream().collect(Collectors.toMap(Tag::getName, Function.identity(), (a, b) -> a, HashMap::new));
     }
 
     public String findTagName(PostTag postTag) {
-        Tag tag = tagRepository.findById(postTag.getTag().getId()).orElseThrow(TagNotFoundException::new);
+        Long tagId = postTag.getTag().getId();
+        String name = namesById.get(tagId);
+        if (name != null) {
+            return name;
+        }
+        Tag tag = primaryReader.read(() -> tagRepository.findById(tagId)).orElseThrow(TagNotFoundException::new);
+        register(tag);
         return tag.getName();
     }
 
     public Long findTagIdByString(String name) {
-        return tagRepository.findTagByName(name).orElseThrow(TagNotFoundException::new).getId();
+        Long id = idsByName.get(name);
+        if (id != null) {
+            return id;
+        }
+        Tag tag = primaryReader.read(() -> tagRepository.findTagByName(name)).orElseThrow(TagNotFoundException::new);
+        register(tag);
+        return tag.getId();
+    }
+
+    private void register(Tag tag) {
+        idsByName.put(tag.getName(), tag.getId());
+        namesById.put(tag.getId(), tag.getName());
     }
 
 }
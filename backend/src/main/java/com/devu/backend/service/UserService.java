@@ -1,11 +1,12 @@
 package com.devu.backend.service;
 
 
+import com.devu.backend.common.AfterCommit;
 import com.devu.backend.common.exception.EmailConfirmNotCompleteException;
 import com.devu.backend.common.exception.PasswordNotSameException;
 import com.devu.backend.common.exception.UserNotFoundException;
-import com.devu.backend.config.auth.token.RefreshToken;
-import com.devu.backend.repository.RefreshTokenRepository;
+import com.devu.backend.config.auth.AuthPrincipalCache;
+import com.devu.backend.config.auth.PasswordHasher;
 import com.devu.backend.config.auth.token.TokenService;
 import com.devu.backend.controller.user.UserDTO;
 import com.devu.backend.common.exception.*;
@@ -31,10 +32,12 @@ import java.util.List;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final TokenService tokenService;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final CookieService cookieService;
     private final EmailService emailService;
+    private final AuthPrincipalCache authPrincipalCache;
 
     @Transactional
     public User createUser(final String email) throws Exception {
@@ -102,26 +105,36 @@ public class UserService {
         }
     }
 
+    /*
+    * 비밀번호 검증은 PasswordHasher 스레드 풀에서 (요청 스레드에서 BCrypt 돌리지 않음)
+    * 설정된 strength 보다 낮은 해시면 로그인 성공한 김에 새 strength 로 다시 저장
+    * */
+    @Transactional
     public User getByCredentials(final String email, final String password) {
         User user = userRepository.findByEmail(email).orElseThrow(UserNotFoundException::new);
         if (!user.isEmailConfirm()) {
             throw new EmailConfirmNotCompleteException();
         }
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHasher.matches(password, user.getPassword())) {
             throw new PasswordNotSameException();
         }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            //비밀번호는 이미 확인됨 => 풀이 바쁘면 재해시만 다음 로그인으로 미룸 (로그인은 성공)
+            try {
+                user.changePassword(passwordHasher.rehash(password));
+                log.info("User {} 's password was rehashed", user.getUsername());
+            } catch (PasswordHashingBusyException e) {
+                log.info("Skip rehash for user {} : {}", user.getUsername(), e.getMessage());
+            }
+        }
         return user;
     }
 
     @Transactional
     public UserDTO loginProcess(UserDTO userDTO, User user, HttpServletResponse response) {
-        String accessToken = tokenService.createAccessToken(userDTO.getEmail());
+        String accessToken = tokenService.createAccessToken(user.getId(), user.getEmail(), user.getUsername());
         String refreshToken = tokenService.createRefreshToken(userDTO.getEmail());
-        RefreshToken token = RefreshToken.builder()
-                .refreshToken(refreshToken)
-                .build();
-
-        refreshTokenRepository.save(token);
+        refreshTokenService.save(refreshToken);
         ResponseCookie cookie = cookieService.createCookie("X-AUTH-REFRESH-TOKEN", refreshToken);
         response.setHeader("X-AUTH-ACCESS-TOKEN", accessToken);
         response.setHeader("Set-Cookie", cookie.toString());
@@ -136,11 +149,7 @@ public class UserService {
         Cookie refreshCookie = cookieService.getCookie(request, "X-AUTH-REFRESH-TOKEN");
         if (refreshCookie != null) {
             String refreshToken = refreshCookie.getValue();
-            log.info("refreshToken: {}", refreshToken);
-            RefreshToken dbRefreshToken = refreshTokenRepository.findByRefreshToken(refreshToken);
-            if (dbRefreshToken != null) {
-                refreshTokenRepository.delete(dbRefreshToken);
-            }
+            refreshTokenService.revoke(refreshToken);
         }
         ResponseCookie deletedCookie = cookieService.deleteCookie("X-AUTH-REFRESH-TOKEN");
         response.setHeader("Set-Cookie", deletedCookie.toString());
@@ -153,11 +162,12 @@ public class UserService {
     public void changePassword(String email,String password) {
         User user = userRepository.findByEmail(email).orElseThrow(UserNotFoundException::new);
         log.info("User {} 's before password was {}",user.getUsername(),user.getPassword());
-        if (passwordEncoder.matches(password, user.getPassword())) {
+        if (passwordHasher.matches(password, user.getPassword())) {
             throw new PasswordDupException();
         }
-        user.changePassword(passwordEncoder.encode(password));
+        user.changePassword(passwordHasher.encode(password));
         log.info("User {} 's password was changed to {}",user.getUsername(),user.getPassword());
+        principalChangedAfterCommit(user);
     }
 
     /*
@@ -171,22 +181,36 @@ public class UserService {
         return userRepository.findByUsername(username).orElseThrow(UserNotFoundException::new);
     }
 
+    /*
+    * 탈퇴,username 변경 대상은 토큰의 user id 로 찾음
+    * username claim 은 다른 서버에서 만료 전까지 이전 값일 수 있음 => 그 이름을 새로 쓰는 다른 사용자가 바뀔 수 있음
+    * */
     @Transactional
-    public void deleteUser(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow(UserNotFoundException::new);
+    public String deleteUser(Long userId) {
+        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
         userRepository.delete(user);
         user.getPosts().clear();
+        principalChangedAfterCommit(user);
+        return user.getUsername();
     }
 
     @Transactional
-    public UserDTO updateUsername(String before,String username) {
-        User user = userRepository.findByUsername(before).orElseThrow(UserNotFoundException::new);
+    public UserDTO updateUsername(Long userId, String username) {
+        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
+        String before = user.getUsername();
         user.changeUsername(username);
         log.info("username was changed {} to {}",before,username);
+        principalChangedAfterCommit(user);
         return UserDTO.builder()
                 .username(username)
                 .email(user.getEmail())
                 .build();
     }
 
+    //이전에 발급된 access token 의 claim (username 등) 은 더 이상 믿지 않음
+    private void principalChangedAfterCommit(User user) {
+        Long userId = user.getId();
+        String email = user.getEmail();
+        AfterCommit.run(() -> authPrincipalCache.invalidate(userId, email));
+    }
 }
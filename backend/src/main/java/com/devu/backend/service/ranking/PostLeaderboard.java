@@ -0,0 +1,546 @@
+package com.devu.backend.service.ranking;
+
+import com.devu.backend.config.datasource.PrimaryReader;
+import com.devu.backend.entity.post.PostType;
+import com.devu.backend.repository.post.PostListRow;
+import com.devu.backend.repository.post.PostRepository;
+import com.devu.backend.repository.post.PostScoreView;
+import com.devu.backend.service.HitCountBuffer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+* 게시판 타입 x (조회수, 좋아요) x 기간 랭킹
+* 홈 화면마다 post 테이블 정렬 => 메모리 정렬 집합을 조회,좋아요,생성,삭제 시 증분 갱신
+* 기간(today, week)마다 정렬 집합을 따로 둠 => 전체 집합을 훑지 않고 앞에서 k 개
+* 정렬 집합은 상위 max-k + margin 개 후보만 보관 => 메모리는 게시글 수가 아니라 k 에 비례
+* 후보가 아닌 글의 조회,좋아요는 버리고, 상세 조회 때 현재 값으로 offer => 후보 커트라인을 넘으면 들어옴
+* 잠금은 게시판 타입별 => 다른 게시판 조회끼리는 기다리지 않음, 후보가 아닌 글의 조회는 잠그지 않음
+* 시작 시 + 주기적으로 DB 값으로 다시 구성 (누락 보정)
+* 화면에 필요한 제목,작성자,태그는 한 번 읽은 뒤 게시글이 수정,삭제되거나 후보에서 빠질 때까지 재사용
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostLeaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry e) -> e.value).reversed()
+            .thenComparing(Comparator.comparingLong((Entry e) -> e.id).reversed());
+    private static final Comparator<Entry> CREATED_ORDER = Comparator.comparing((Entry e) -> e.createAt)
+            .thenComparingLong(e -> e.id);
+    //재구성 시 한 번에 잠그고 넣는 게시글 수 => 그동안 조회,좋아요 반영이 오래 막히지 않게
+    private static final int LOAD_CHUNK = 1000;
+
+    private final PostRepository postRepository;
+    private final HitCountBuffer hitCountBuffer;
+    private final PrimaryReader primaryReader;
+
+    @Value("${devu.ranking.max-k:50}")
+    private int maxK;
+
+    //순위가 조금 바뀌어도 k 안의 글이 빠지지 않게 더 보관하는 후보 수
+    @Value("${devu.ranking.margin:50}")
+    private int margin;
+
+    private final Map<PostType, Ranking> rankings = rankings();
+    //후보 게시글 => 타입 (조회,좋아요는 id 만 알고 옴), 현재 또는 재구성 중인 랭킹의 후보만
+    private final Map<Long, PostType> candidates = new ConcurrentHashMap<>();
+    private final Map<Long, PostListRow> rows = new ConcurrentHashMap<>();
+
+    /*
+    * 좋아요는 타입을 모르는 글(후보 아님)도 재구성 중이면 모아 두어야 함
+    * => 좋아요 반영과 재구성의 적재는 이 잠금을 먼저 잡음 (잠금 순서 likeLock -> 타입별 잠금)
+    * */
+    private final Object likeLock = new Object();
+    //재구성 중에만 사용, 아직 넣지 않은 게시글의 좋아요 증감 (likeLock)
+    private Map<Long, Long> deferredLikes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuild();
+    }
+
+    /*
+    * 새 랭킹을 따로 만든 뒤 교체 => 재구성 중에도 기존 랭킹으로 응답
+    * 점수는 primary 에서 읽고, 읽기부터 적재까지 HitCountBuffer flush 를 막음
+    * => DB 조회수 + 넣는 시점의 미반영 누적분 사이에 flush 가 끼어 누적분이 양쪽 모두에서 빠지는 일 없음
+    * 넣은 뒤의 조회는 새 랭킹에도 바로 반영
+    * 좋아요 => 아직 넣지 않은 게시글의 증감은 모아 두었다가 넣을 때 더함
+    * 재구성 중 생성된 글은 그대로 두고, 삭제된 글은 DB 스냅샷에 있어도 넣지 않음
+    * */
+    @Scheduled(cron = "${devu.ranking.rebuild-cron:0 0 * * * *}")
+    public void rebuild() {
+        synchronized (likeLock) {
+            deferredLikes = new HashMap<>();
+        }
+        for (Ranking ranking : rankings.values()) {
+            synchronized (ranking) {
+                ranking.building = new Boards();
+            }
+        }
+        try {
+            hitCountBuffer.holdingFlush(() -> {
+                load(PostType.CHAT, postRepository::findChatScores);
+                load(PostType.STUDY, postRepository::findStudyScores);
+                load(PostType.QUESTION, postRepository::findQuestionScores);
+            });
+            for (Ranking ranking : rankings.values()) {
+                synchronized (ranking) {
+                    Boards previous = ranking.live;
+                    ranking.live = ranking.building;
+                    ranking.building = null;
+                    previous.candidates.keySet().forEach(postId -> track(ranking, postId));
+                }
+            }
+            rows.clear();
+            log.info("Post leaderboard rebuilt : {} candidates", candidates.size());
+        } finally {
+            for (Ranking ranking : rankings.values()) {
+                synchronized (ranking) {
+                    Boards building = ranking.building;
+                    ranking.building = null;
+                    if (building != null) {
+                        building.candidates.keySet().forEach(postId -> track(ranking, postId));
+                    }
+                }
+            }
+            synchronized (likeLock) {
+                deferredLikes = null;
+            }
+        }
+    }
+
+    //새 글 => 재구성 중이면 DB 스냅샷에 없을 수 있으므로 새 랭킹에도 바로 넣음
+    public void add(PostType type, Long postId, LocalDateTime createAt) {
+        Ranking ranking = rankings.get(type);
+        synchronized (ranking) {
+            LocalDateTime now = LocalDateTime.now();
+            ranking.live.offer(postId, createAt, 0L, 0L, now, capacity());
+            if (ranking.building != null) {
+                ranking.building.offer(postId, createAt, 0L, 0L, now, capacity());
+            }
+            flush(ranking);
+        }
+    }
+
+    /*
+    * 후보가 아닌 글을 현재 점수로 제안 (상세 조회, 생성), 이미 후보면 증분으로 따라가므로 무시
+    * 재구성 중이면 이미 적재를 지난 글만 새 랭킹에도 제안 (아직이면 적재 때 DB 값으로 들어감)
+    * */
+    public void offer(PostType type, Long postId, LocalDateTime createAt, long hit, long likes) {
+        Ranking ranking = rankings.get(type);
+        synchronized (ranking) {
+            LocalDateTime now = LocalDateTime.now();
+            ranking.live.offer(postId, createAt, hit, likes, now, capacity());
+            if (ranking.building != null && postId <= ranking.building.loadedUpTo) {
+                ranking.building.offer(postId, createAt, hit, likes, now, capacity());
+            }
+            flush(ranking);
+        }
+    }
+
+    //삭제는 드묾 => 타입을 몰라도 모든 타입에서 제거, 재구성 중이면 적재하지 않도록 기록
+    public void remove(Long postId) {
+        rows.remove(postId);
+        for (Ranking ranking : rankings.values()) {
+            synchronized (ranking) {
+                ranking.live.remove(postId);
+                if (ranking.building != null) {
+                    ranking.building.remove(postId);
+                    ranking.building.removed.add(postId);
+                }
+                flush(ranking);
+            }
+        }
+    }
+
+    //제목,내용,태그 변경 => 화면 스냅샷만 다시 읽음
+    public void evict(Long postId) {
+        rows.remove(postId);
+    }
+
+    public void hit(Long postId) {
+        PostType type = candidates.get(postId);
+        if (type == null) {
+            return;
+        }
+        Ranking ranking = rankings.get(type);
+        synchronized (ranking) {
+            increase(ranking, postId, RankingMetric.HIT, 1L);
+        }
+    }
+
+    public void like(Long postId, long delta) {
+        synchronized (likeLock) {
+            PostType type = candidates.get(postId);
+            if (type == null) {
+                defer(postId, delta);
+                return;
+            }
+            Ranking ranking = rankings.get(type);
+            synchronized (ranking) {
+                Boards building = ranking.building;
+                if (building != null && !building.candidates.containsKey(postId) && postId > building.loadedUpTo) {
+                    defer(postId, delta);
+                }
+                increase(ranking, postId, RankingMetric.LIKES, delta);
+            }
+        }
+    }
+
+    public boolean contains(Long postId) {
+        PostType type = candidates.get(postId);
+        if (type == null) {
+            return false;
+        }
+        Ranking ranking = rankings.get(type);
+        synchronized (ranking) {
+            return ranking.live.candidates.containsKey(postId);
+        }
+    }
+
+    public long score(Long postId, RankingMetric metric) {
+        PostType type = candidates.get(postId);
+        if (type == null) {
+            return 0L;
+        }
+        Ranking ranking = rankings.get(type);
+        synchronized (ranking) {
+            return ranking.live.value(postId, metric);
+        }
+    }
+
+    /*
+    * 기간별 정렬 집합 앞에서 k 개 (기간이 지난 글은 먼저 정리)
+    * */
+    public List<Long> top(PostType type, RankingMetric metric, int k, RankingWindow window) {
+        int size = Math.max(1, Math.min(k, maxK));
+        Ranking ranking = rankings.get(type);
+        synchronized (ranking) {
+            List<Long> top = ranking.live.top(metric, window, size, LocalDateTime.now());
+            flush(ranking);
+            return top;
+        }
+    }
+
+    //스냅샷이 없는 게시글만 한 번에 조회, ids 순서 유지
+    public List<PostListRow> rows(List<Long> postIds, Function<List<Long>, List<PostListRow>> rowLoader) {
+        List<Long> missing = postIds.stream()
+                .filter(id -> !rows.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            rowLoader.apply(missing).forEach(row -> rows.put(row.getId(), row));
+        }
+        return postIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private int capacity() {
+        return maxK + margin;
+    }
+
+    //ranking 잠금 안에서 호출
+    private void increase(Ranking ranking, Long postId, RankingMetric metric, long delta) {
+        LocalDateTime now = LocalDateTime.now();
+        ranking.live.add(postId, metric, delta, now, capacity());
+        if (ranking.building != null) {
+            ranking.building.add(postId, metric, delta, now, capacity());
+        }
+        flush(ranking);
+    }
+
+    //likeLock 안에서 호출
+    private void defer(Long postId, long delta) {
+        if (deferredLikes != null) {
+            deferredLikes.merge(postId, delta, Long::sum);
+        }
+    }
+
+    /*
+    * id 순으로 LOAD_CHUNK 개씩 넣음 => loadedUpTo 로 이미 넣은 글인지 판단
+    * */
+    private void load(PostType type, Supplier<List<PostScoreView>> scoreLoader) {
+        List<PostScoreView> scores = new ArrayList<>(primaryReader.read(scoreLoader));
+        scores.sort(Comparator.comparing(PostScoreView::getId));
+        Ranking ranking = rankings.get(type);
+        for (int from = 0; from < scores.size(); from += LOAD_CHUNK) {
+            List<PostScoreView> chunk = scores.subList(from, Math.min(from + LOAD_CHUNK, scores.size()));
+            synchronized (likeLock) {
+                synchronized (ranking) {
+                    Boards target = ranking.building;
+                    LocalDateTime now = LocalDateTime.now();
+                    for (PostScoreView score : chunk) {
+                        Long postId = score.getId();
+                        target.loadedUpTo = postId;
+                        if (target.removed.contains(postId) || target.candidates.containsKey(postId)) {
+                            continue;
+                        }
+                        long hit = Optional.ofNullable(score.getHit()).orElse(0L) + hitCountBuffer.pending(postId);
+                        long likes = Optional.ofNullable(score.getLikeCount()).orElse(0L)
+                                + Optional.ofNullable(deferredLikes.remove(postId)).orElse(0L);
+                        target.offer(postId, score.getCreateAt(), hit, Math.max(likes, 0L), now, capacity());
+                    }
+                    flush(ranking);
+                }
+            }
+        }
+    }
+
+    //후보에 들어오거나 빠진 게시글을 전역 id => 타입 맵에 반영 (ranking 잠금 안에서 호출)
+    private void flush(Ranking ranking) {
+        List<Long> changed = new ArrayList<>(ranking.live.changed);
+        ranking.live.changed.clear();
+        if (ranking.building != null) {
+            changed.addAll(ranking.building.changed);
+            ranking.building.changed.clear();
+        }
+        changed.forEach(postId -> track(ranking, postId));
+    }
+
+    private void track(Ranking ranking, Long postId) {
+        if (ranking.live.candidates.containsKey(postId)
+                || (ranking.building != null && ranking.building.candidates.containsKey(postId))) {
+            candidates.put(postId, ranking.type);
+        } else if (candidates.remove(postId, ranking.type)) {
+            rows.remove(postId);
+        }
+    }
+
+    private static Map<PostType, Ranking> rankings() {
+        Map<PostType, Ranking> rankings = new EnumMap<>(PostType.class);
+        for (PostType type : PostType.values()) {
+            rankings.put(type, new Ranking(type));
+        }
+        return rankings;
+    }
+
+    //게시판 타입 하나의 현재 랭킹 + 재구성 중인 새 랭킹 (이 객체가 타입별 잠금)
+    private static class Ranking {
+        private final PostType type;
+        private Boards live = new Boards();
+        //재구성 중인 새 랭킹 => 그 사이 들어온 변경은 기존,새 랭킹 모두에 반영
+        private Boards building;
+
+        private Ranking(PostType type) {
+            this.type = type;
+        }
+    }
+
+    //지표 x 기간 정렬 집합 + 어느 집합에든 들어 있는 후보의 현재 점수
+    private static class Boards {
+        private final Map<RankingMetric, Map<RankingWindow, Board>> boards = new EnumMap<>(RankingMetric.class);
+        private final Map<Long, Candidate> candidates = new HashMap<>();
+        //후보에 들어오거나 빠진 게시글 => PostLeaderboard.flush 에서 비움
+        private final List<Long> changed = new ArrayList<>();
+        //재구성 중에만 사용
+        private final Set<Long> removed = new HashSet<>();
+        private long loadedUpTo = Long.MIN_VALUE;
+
+        private Boards() {
+            for (RankingMetric metric : RankingMetric.values()) {
+                Map<RankingWindow, Board> windows = new EnumMap<>(RankingWindow.class);
+                for (RankingWindow window : RankingWindow.values()) {
+                    windows.put(window, new Board(window));
+                }
+                boards.put(metric, windows);
+            }
+        }
+
+        private void offer(Long postId, LocalDateTime createAt, long hit, long likes, LocalDateTime now, int capacity) {
+            if (candidates.containsKey(postId)) {
+                return;
+            }
+            place(new Candidate(postId, createAt, hit, likes), now, capacity);
+        }
+
+        private void add(Long postId, RankingMetric metric, long delta, LocalDateTime now, int capacity) {
+            Candidate candidate = candidates.get(postId);
+            if (candidate == null) {
+                return;
+            }
+            if (metric == RankingMetric.HIT) {
+                candidate.hit = Math.max(candidate.hit + delta, 0L);
+            } else {
+                candidate.likes = Math.max(candidate.likes + delta, 0L);
+            }
+            place(candidate, now, capacity);
+        }
+
+        private void remove(Long postId) {
+            if (candidates.remove(postId) == null) {
+                return;
+            }
+            for (Map<RankingWindow, Board> windows : boards.values()) {
+                windows.values().forEach(board -> board.remove(postId));
+            }
+            changed.add(postId);
+        }
+
+        private long value(Long postId, RankingMetric metric) {
+            Candidate candidate = candidates.get(postId);
+            if (candidate == null) {
+                return 0L;
+            }
+            return metric == RankingMetric.HIT ? candidate.hit : candidate.likes;
+        }
+
+        private List<Long> top(RankingMetric metric, RankingWindow window, int k, LocalDateTime now) {
+            Board board = boards.get(metric).get(window);
+            List<Long> expired = new ArrayList<>();
+            board.expire(now, expired);
+            expired.forEach(this::release);
+            return board.top(k);
+        }
+
+        //각 집합에 현재 점수로 다시 넣고 (커트라인 아래면 빠짐), 밀려난 글은 다른 집합에도 없으면 후보에서 제거
+        private void place(Candidate candidate, LocalDateTime now, int capacity) {
+            List<Long> evicted = new ArrayList<>();
+            for (Map.Entry<RankingMetric, Map<RankingWindow, Board>> metric : boards.entrySet()) {
+                long value = metric.getKey() == RankingMetric.HIT ? candidate.hit : candidate.likes;
+                for (Board board : metric.getValue().values()) {
+                    board.place(candidate.id, candidate.createAt, value, now, capacity, evicted);
+                }
+            }
+            if (contains(candidate.id)) {
+                if (candidates.put(candidate.id, candidate) == null) {
+                    changed.add(candidate.id);
+                }
+            } else {
+                release(candidate.id);
+            }
+            evicted.forEach(this::release);
+        }
+
+        private void release(Long postId) {
+            if (!contains(postId) && candidates.remove(postId) != null) {
+                changed.add(postId);
+            }
+        }
+
+        private boolean contains(Long postId) {
+            for (Map<RankingWindow, Board> windows : boards.values()) {
+                for (Board board : windows.values()) {
+                    if (board.entries.containsKey(postId)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /*
+    * 기간 정렬 집합은 기간 안의 글 중 상위 capacity 개만 보관
+    * 작성 시각 순 집합을 같이 두어 기간이 지난 글을 앞에서부터 제거 => 글마다 한 번
+    * */
+    private static class Board {
+        private final RankingWindow window;
+        private final TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+        private final TreeSet<Entry> byCreateAt = new TreeSet<>(CREATED_ORDER);
+        private final Map<Long, Entry> entries = new HashMap<>();
+
+        private Board(RankingWindow window) {
+            this.window = window;
+        }
+
+        //가득 찼으면 마지막 글보다 앞설 때만 들어오고 마지막 글을 밀어냄
+        private void place(long postId, LocalDateTime createAt, long value, LocalDateTime now, int capacity, List<Long> evicted) {
+            remove(postId);
+            LocalDateTime since = window.since(now);
+            if (since != null && (createAt == null || createAt.isBefore(since))) {
+                return;
+            }
+            Entry entry = new Entry(postId, createAt, value);
+            if (entries.size() >= capacity && ORDER.compare(entry, ranking.last()) > 0) {
+                return;
+            }
+            insert(entry);
+            while (entries.size() > capacity) {
+                Entry last = ranking.last();
+                remove(last.id);
+                evicted.add(last.id);
+            }
+        }
+
+        private void remove(long postId) {
+            Entry entry = entries.remove(postId);
+            if (entry != null) {
+                ranking.remove(entry);
+                if (window != RankingWindow.ALL) {
+                    byCreateAt.remove(entry);
+                }
+            }
+        }
+
+        private List<Long> top(int k) {
+            List<Long> result = new ArrayList<>(k);
+            for (Entry entry : ranking) {
+                if (result.size() >= k) {
+                    break;
+                }
+                result.add(entry.id);
+            }
+            return result;
+        }
+
+        private void insert(Entry entry) {
+            entries.put(entry.id, entry);
+            ranking.add(entry);
+            if (window != RankingWindow.ALL) {
+                byCreateAt.add(entry);
+            }
+        }
+
+        private void expire(LocalDateTime now, List<Long> expired) {
+            LocalDateTime since = window.since(now);
+            if (since == null) {
+                return;
+            }
+            while (!byCreateAt.isEmpty() && byCreateAt.first().createAt.isBefore(since)) {
+                long postId = byCreateAt.first().id;
+                remove(postId);
+                expired.add(postId);
+            }
+        }
+    }
+
+    private static class Candidate {
+        private final long id;
+        private final LocalDateTime createAt;
+        private long hit;
+        private long likes;
+
+        private Candidate(long id, LocalDateTime createAt, long hit, long likes) {
+            this.id = id;
+            this.createAt = createAt;
+            this.hit = hit;
+            this.likes = likes;
+        }
+    }
+
+    private static class Entry {
+        private final long id;
+        private final LocalDateTime createAt;
+        private final long value;
+
+        private Entry(long id, LocalDateTime createAt, long value) {
+            this.id = id;
+            this.createAt = createAt;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.devu.backend.service.ranking;
+
+public enum RankingMetric {
+    HIT,
+    LIKES
+}
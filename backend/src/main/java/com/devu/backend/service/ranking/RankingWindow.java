@@ -0,0 +1,41 @@
+package com.devu.backend.service.ranking;
+
+import com.devu.backend.common.exception.RankingWindowNotFoundException;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/*
+* 랭킹 기간 => 게시글 작성 시각 기준
+* today => 오늘 0시 이후, week => 최근 7일, all => 전체
+* */
+public enum RankingWindow {
+    TODAY,
+    WEEK,
+    ALL;
+
+    public static RankingWindow of(String window) {
+        if (!StringUtils.hasText(window)) {
+            return ALL;
+        }
+        try {
+            return valueOf(window.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RankingWindowNotFoundException();
+        }
+    }
+
+    //null => 제한 없음
+    public LocalDateTime since(LocalDateTime now) {
+        switch (this) {
+            case TODAY:
+                return LocalDate.from(now).atStartOfDay();
+            case WEEK:
+                return now.minusDays(7);
+            default:
+                return null;
+        }
+    }
+}
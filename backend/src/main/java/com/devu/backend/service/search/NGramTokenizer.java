@@ -0,0 +1,54 @@
+package com.devu.backend.service.search;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/*
+* 한글은 형태소 분석 없이도 음절 bi-gram 만으로 부분 검색이 충분히 동작
+* 색인 => 단어별 uni-gram + bi-gram
+* 검색 => 두 글자 이상 단어는 bi-gram, 한 글자 단어는 uni-gram
+* */
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    public static Map<String, Integer> indexTerms(String text, int weight) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String word : words(text)) {
+            for (int i = 0; i < word.length(); i++) {
+                terms.merge(word.substring(i, i + 1), weight, Integer::sum);
+                if (i + 1 < word.length()) {
+                    terms.merge(word.substring(i, i + 2), weight, Integer::sum);
+                }
+            }
+        }
+        return terms;
+    }
+
+    public static Set<String> queryTerms(String sentence) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words(sentence)) {
+            if (word.length() == 1) {
+                terms.add(word);
+                continue;
+            }
+            for (int i = 0; i + 1 < word.length(); i++) {
+                terms.add(word.substring(i, i + 2));
+            }
+        }
+        return terms;
+    }
+
+    private static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return normalized.split("[^\\p{L}\\p{N}]+");
+    }
+}
@@ -0,0 +1,315 @@
+package com.devu.backend.service.search;
+
+import com.devu.backend.entity.post.Post;
+import com.devu.backend.entity.post.PostType;
+import com.devu.backend.repository.post.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+* 게시글 제목 + 본문 n-gram 역색인
+* title LIKE '%s%' 는 인덱스를 탈 수 없어서 post 테이블 전체를 읽게 됨
+* => 메모리 역색인으로 후보 id를 관련도 순으로 뽑고, DB는 id IN 조회만 수행
+* term 마다 id 오름차순 long[] + 빈도 int[] (Long, Integer 박싱 없이 보관)
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CONTENT_WEIGHT = 1;
+    private static final int MAX_CONTENT_LENGTH = 5000;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PostRepository postRepository;
+
+    @Value("${devu.search.max-results:1000}")
+    private int maxResults;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index live = new Index();
+    //rebuild 중인 색인, 그동안의 index,remove 는 양쪽에 반영
+    private Index building;
+    //rebuild 중 index,remove 된 게시글 => 이미 최신 상태이므로 DB 에서 읽은 (이전일 수 있는) 값으로 덮지 않음
+    private Roaring64NavigableMap touched;
+
+    /*
+    * 새 색인을 따로 채운 뒤 교체 => 채우는 동안에도 검색은 이전 색인으로 응답
+    * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Index next = new Index();
+        lock.writeLock().lock();
+        try {
+            building = next;
+            touched = new Roaring64NavigableMap();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            int page = 0;
+            Slice<Post> slice;
+            do {
+                slice = postRepository.findAllBy(PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                List<Terms> loaded = new ArrayList<>();
+                slice.forEach(post -> loaded.add(Terms.of(post)));
+                lock.writeLock().lock();
+                try {
+                    for (Terms terms : loaded) {
+                        if (!touched.contains(terms.postId)) {
+                            next.put(terms);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } while (slice.hasNext());
+            lock.writeLock().lock();
+            try {
+                live = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Post search index built : {} posts, {} terms", next.posts.size(), next.postings.size());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                building = null;
+                touched = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void index(Post post) {
+        Terms terms = Terms.of(post);
+        lock.writeLock().lock();
+        try {
+            live.put(terms);
+            if (building != null) {
+                building.put(terms);
+                touched.addLong(terms.postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            live.remove(postId);
+            if (building != null) {
+                building.remove(postId);
+                touched.addLong(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+    * 검색어의 모든 n-gram을 포함하는 게시글만 후보 (AND)
+    * 점수 => sum(가중 빈도 * idf), 동점이면 최신 글(id 내림차순) 우선
+    * 후보가 max-results 보다 많으면 상위만 돌려주고 SearchResult.truncated 로 알림
+    * */
+    public SearchResult search(PostType type, String sentence) {
+        Set<String> terms = NGramTokenizer.queryTerms(sentence);
+        if (terms.isEmpty()) {
+            return SearchResult.empty();
+        }
+        long[] ids;
+        double[] scores;
+        int matched = 0;
+        lock.readLock().lock();
+        try {
+            List<Posting> lists = new ArrayList<>();
+            for (String term : terms) {
+                Posting posting = live.postings.get(term);
+                if (posting == null || posting.size == 0) {
+                    return SearchResult.empty();
+                }
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingInt(posting -> posting.size));
+
+            int total = Math.max(live.posts.size(), 1);
+            double[] idf = lists.stream()
+                    .mapToDouble(posting -> Math.log(1.0 + (double) total / posting.size))
+                    .toArray();
+
+            Posting first = lists.get(0);
+            ids = new long[first.size];
+            scores = new double[first.size];
+            candidates:
+            for (int c = 0; c < first.size; c++) {
+                long postId = first.ids[c];
+                IndexedPost indexed = live.posts.get(postId);
+                if (indexed == null || indexed.type != type) {
+                    continue;
+                }
+                double score = first.freqs[c] * idf[0];
+                for (int i = 1; i < lists.size(); i++) {
+                    int freq = lists.get(i).freq(postId);
+                    if (freq == 0) {
+                        continue candidates;
+                    }
+                    score += freq * idf[i];
+                }
+                ids[matched] = postId;
+                scores[matched] = score;
+                matched++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Integer[] order = new Integer[matched];
+        for (int i = 0; i < matched; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                ? Double.compare(scores[b], scores[a])
+                : Long.compare(ids[b], ids[a]));
+        int size = Math.min(matched, maxResults);
+        List<Long> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ids[order[i]]);
+        }
+        return new SearchResult(result, matched);
+    }
+
+    private static String truncate(String content) {
+        if (content == null || content.length() <= MAX_CONTENT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, MAX_CONTENT_LENGTH);
+    }
+
+    //DB 를 읽거나 토큰화하는 동안에는 잠그지 않도록 term 계산을 미리 해 둠
+    private static class Terms {
+        private final long postId;
+        private final PostType type;
+        private final Map<String, Integer> frequencies;
+
+        private Terms(long postId, PostType type, Map<String, Integer> frequencies) {
+            this.postId = postId;
+            this.type = type;
+            this.frequencies = frequencies;
+        }
+
+        private static Terms of(Post post) {
+            Map<String, Integer> terms = NGramTokenizer.indexTerms(post.getTitle(), TITLE_WEIGHT);
+            NGramTokenizer.indexTerms(truncate(post.getContent()), CONTENT_WEIGHT)
+                    .forEach((term, freq) -> terms.merge(term, freq, Integer::sum));
+            return new Terms(post.getId(), PostType.of(post), terms);
+        }
+    }
+
+    private static class Index {
+        private final Map<String, Posting> postings = new HashMap<>();
+        private final Map<Long, IndexedPost> posts = new HashMap<>();
+
+        private void put(Terms terms) {
+            remove(terms.postId);
+            Posting[] indexed = new Posting[terms.frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : terms.frequencies.entrySet()) {
+                Posting posting = postings.computeIfAbsent(entry.getKey(), Posting::new);
+                posting.put(terms.postId, entry.getValue());
+                indexed[i++] = posting;
+            }
+            posts.put(terms.postId, new IndexedPost(terms.type, indexed));
+        }
+
+        private void remove(long postId) {
+            IndexedPost indexed = posts.remove(postId);
+            if (indexed == null) {
+                return;
+            }
+            for (Posting posting : indexed.postings) {
+                posting.remove(postId);
+                if (posting.size == 0) {
+                    postings.remove(posting.term);
+                }
+            }
+        }
+    }
+
+    /*
+    * 한 term 의 posting list, ids 는 오름차순 (대부분 새 글이라 뒤에 추가됨)
+    * */
+    private static class Posting {
+        private final String term;
+        private long[] ids = new long[2];
+        private int[] freqs = new int[2];
+        private int size;
+
+        private Posting(String term) {
+            this.term = term;
+        }
+
+        private int freq(long postId) {
+            int i = Arrays.binarySearch(ids, 0, size, postId);
+            return i < 0 ? 0 : freqs[i];
+        }
+
+        private void put(long postId, int freq) {
+            int i = Arrays.binarySearch(ids, 0, size, postId);
+            if (i >= 0) {
+                freqs[i] = freq;
+                return;
+            }
+            i = -i - 1;
+            if (size == ids.length) {
+                int capacity = size + (size >> 1) + 1;
+                ids = Arrays.copyOf(ids, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+            }
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            System.arraycopy(freqs, i, freqs, i + 1, size - i);
+            ids[i] = postId;
+            freqs[i] = freq;
+            size++;
+        }
+
+        private void remove(long postId) {
+            int i = Arrays.binarySearch(ids, 0, size, postId);
+            if (i < 0) {
+                return;
+            }
+            System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+            System.arraycopy(freqs, i + 1, freqs, i, size - i - 1);
+            size--;
+            //삭제가 많아 배열이 많이 비면 줄임
+            if (size > 0 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+        }
+    }
+
+    private static class IndexedPost {
+        private final PostType type;
+        private final Posting[] postings;
+
+        private IndexedPost(PostType type, Posting[] postings) {
+            this.type = type;
+            this.postings = postings;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.devu.backend.service.search;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/*
+* 검색 결과 id (관련도 순) + 조건에 맞은 전체 개수
+* matched 가 postIds 보다 많으면 max-results 에서 잘린 결과
+* */
+@Getter
+public class SearchResult {
+
+    private static final SearchResult EMPTY = new SearchResult(Collections.emptyList(), 0);
+
+    private final List<Long> postIds;
+    private final int matched;
+
+    public SearchResult(List<Long> postIds, int matched) {
+        this.postIds = postIds;
+        this.matched = matched;
+    }
+
+    public static SearchResult empty() {
+        return EMPTY;
+    }
+
+    public boolean isTruncated() {
+        return matched > postIds.size();
+    }
+}
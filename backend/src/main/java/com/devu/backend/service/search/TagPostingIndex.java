@@ -0,0 +1,165 @@
+package com.devu.backend.service.search;
+
+import com.devu.backend.config.datasource.PrimaryReader;
+import com.devu.backend.repository.PostTagPair;
+import com.devu.backend.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+* 태그별 게시글 id 압축 비트맵 (posting list)
+* post_tag inner join + GROUP BY post HAVING count = n 은 인기 태그일수록 읽는 행이 많아짐
+* => 다중 태그 AND 필터를 비트맵 교집합으로 계산하고 DB에는 id IN 만 전달
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagPostingIndex {
+
+    private final TagRepository tagRepository;
+    private final PrimaryReader primaryReader;
+
+    private final Map<Long, Roaring64NavigableMap> postings = new HashMap<>();
+    //게시글 수정,삭제 시 이전 태그의 비트맵에서 빼기 위해 보관
+    private final Map<Long, Set<Long>> tagsByPost = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    //rebuild 중에만 사용, 그동안 index,remove 된 게시글
+    private Roaring64NavigableMap touched;
+
+    /*
+    * DB 를 읽는 동안 커밋 후 index,remove 된 게시글은 touched 에 기록
+    * => 교체할 때 그 게시글은 (이전일 수 있는) DB 값 대신 현재 색인 값을 유지
+    * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            touched = new Roaring64NavigableMap();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<PostTagPair> pairs;
+        try {
+            pairs = primaryReader.read(tagRepository::findAllPostTagPairs);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                touched = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Long, Set<Long>> current = new HashMap<>();
+            touched.forEach(postId -> {
+                Set<Long> tagIds = tagsByPost.get(postId);
+                if (tagIds != null) {
+                    current.put(postId, new HashSet<>(tagIds));
+                }
+            });
+            postings.clear();
+            tagsByPost.clear();
+            for (PostTagPair pair : pairs) {
+                if (!touched.contains(pair.getPostId())) {
+                    add(pair.getPostId(), pair.getTagId());
+                }
+            }
+            current.forEach((postId, tagIds) -> tagIds.forEach(tagId -> add(postId, tagId)));
+            touched = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Tag posting index built : {} tags, {} posts", postings.size(), tagsByPost.size());
+    }
+
+    public void index(Long postId, Collection<Long> tagIds) {
+        lock.writeLock().lock();
+        try {
+            removePost(postId);
+            for (Long tagId : tagIds) {
+                add(postId, tagId);
+            }
+            markTouched(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removePost(postId);
+            markTouched(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+    * 모든 태그를 가진 게시글 id (AND)
+    * 카디널리티가 작은 비트맵부터 교집합, 모르는 태그가 하나라도 있으면 빈 결과
+    * */
+    public Roaring64NavigableMap intersect(Collection<Long> tagIds) {
+        lock.readLock().lock();
+        try {
+            List<Roaring64NavigableMap> bitmaps = new ArrayList<>();
+            for (Long tagId : tagIds) {
+                Roaring64NavigableMap bitmap = postings.get(tagId);
+                if (bitmap == null) {
+                    return new Roaring64NavigableMap();
+                }
+                bitmaps.add(bitmap);
+            }
+            if (bitmaps.isEmpty()) {
+                return new Roaring64NavigableMap();
+            }
+            bitmaps.sort(Comparator.comparingLong(Roaring64NavigableMap::getLongCardinality));
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            result.or(bitmaps.get(0));
+            for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+                result.and(bitmaps.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markTouched(Long postId) {
+        if (touched != null) {
+            touched.addLong(postId);
+        }
+    }
+
+    private void add(Long postId, Long tagId) {
+        postings.computeIfAbsent(tagId, id -> new Roaring64NavigableMap()).addLong(postId);
+        tagsByPost.computeIfAbsent(postId, id -> new HashSet<>()).add(tagId);
+    }
+
+    private void removePost(Long postId) {
+        Set<Long> tagIds = tagsByPost.remove(postId);
+        if (tagIds == null) {
+            return;
+        }
+        for (Long tagId : tagIds) {
+            Roaring64NavigableMap bitmap = postings.get(tagId);
+            if (bitmap == null) {
+                continue;
+            }
+            bitmap.removeLong(postId);
+            if (bitmap.isEmpty()) {
+                postings.remove(tagId);
+            }
+        }
+    }
+}
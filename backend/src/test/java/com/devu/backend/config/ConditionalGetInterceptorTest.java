@@ -0,0 +1,85 @@
+package com.devu.backend.config;
+
+import com.devu.backend.service.ContentVersions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetInterceptorTest {
+
+    private final ContentVersions contentVersions = new ContentVersions();
+    private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(request -> contentVersions.post(1L));
+
+    @DisplayName("조건부 GET - 같은 버전이면 304, 게시글이 바뀌면 다시 컨트롤러 실행")
+    @Test
+    void notModifiedUntilBump() {
+        //given
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        boolean firstHandled = interceptor.preHandle(new MockHttpServletRequest("GET", "/community/chats/1"), first, null);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        //when
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        boolean secondHandled = interceptor.preHandle(conditional(etag), second, null);
+        contentVersions.bumpPost(1L);
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        boolean thirdHandled = interceptor.preHandle(conditional(etag), third, null);
+
+        //then
+        assertThat(firstHandled).isTrue();
+        assertThat(etag).isNotNull();
+        assertThat(secondHandled).isFalse();
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(thirdHandled).isTrue();
+        assertThat(third.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @DisplayName("조건부 GET - 304 로 끝난 요청만 onNotModified 실행")
+    @Test
+    void onNotModified() {
+        //given
+        AtomicInteger hits = new AtomicInteger();
+        ConditionalGetInterceptor counting = new ConditionalGetInterceptor(request -> contentVersions.post(1L), request -> hits.incrementAndGet());
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        counting.preHandle(new MockHttpServletRequest("GET", "/community/chats/1"), first, null);
+
+        //when
+        counting.preHandle(conditional(first.getHeader(HttpHeaders.ETAG)), new MockHttpServletResponse(), null);
+        counting.preHandle(conditional(first.getHeader(HttpHeaders.ETAG)), new MockHttpServletResponse(), null);
+
+        //then
+        assertThat(hits.get()).isEqualTo(2);
+    }
+
+    @DisplayName("조건부 GET - 조회수가 들어간 응답은 조회수 flush 후 weak ETag 가 바뀜")
+    @Test
+    void modifiedAfterHitFlush() {
+        //given
+        ConditionalGetInterceptor withHits = new ConditionalGetInterceptor(request -> contentVersions.withHits(contentVersions.post(1L)));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        withHits.preHandle(new MockHttpServletRequest("GET", "/community/chats/1"), first, null);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        //when
+        boolean beforeFlush = withHits.preHandle(conditional(etag), new MockHttpServletResponse(), null);
+        contentVersions.bumpHits();
+        boolean afterFlush = withHits.preHandle(conditional(etag), new MockHttpServletResponse(), null);
+
+        //then
+        assertThat(etag).startsWith("W/");
+        assertThat(beforeFlush).isFalse();
+        assertThat(afterFlush).isTrue();
+    }
+
+    private MockHttpServletRequest conditional(String etag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/community/chats/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        return request;
+    }
+}
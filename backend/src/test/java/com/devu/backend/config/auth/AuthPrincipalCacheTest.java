@@ -0,0 +1,73 @@
+package com.devu.backend.config.auth;
+
+import com.devu.backend.config.auth.token.TokenService;
+import com.devu.backend.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AuthPrincipalCacheTest {
+
+    private UserDetailsServiceImpl userDetailsService;
+    private AuthPrincipalCache authPrincipalCache;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = Mockito.mock(UserDetailsServiceImpl.class);
+        authPrincipalCache = new AuthPrincipalCache(userDetailsService, 60, 100);
+    }
+
+    @DisplayName("claim 이 있는 토큰 - 사용자 조회 없이 principal 생성")
+    @Test
+    void principalFromClaims() {
+        //given
+        Claims claims = claims(new Date());
+
+        //when
+        UserDetailsImpl principal = authPrincipalCache.principal(claims);
+
+        //then
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getNickname()).isEqualTo("brido");
+        assertThat(principal.getUsername()).isEqualTo("test@test.com");
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @DisplayName("username 변경 후 - 이전 토큰은 DB 에서 다시 읽고, 읽은 principal 은 TTL 동안 재사용")
+    @Test
+    void reloadAfterInvalidate() {
+        //given
+        Claims claims = claims(new Date(System.currentTimeMillis() - 60_000));
+        User user = User.builder().email("test@test.com").username("daebak").build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+        when(userDetailsService.loadUserByUsername("test@test.com")).thenReturn(new UserDetailsImpl(user));
+
+        //when
+        authPrincipalCache.invalidate(1L, "test@test.com");
+        UserDetailsImpl first = authPrincipalCache.principal(claims);
+        UserDetailsImpl second = authPrincipalCache.principal(claims);
+
+        //then
+        assertThat(first.getNickname()).isEqualTo("daebak");
+        assertThat(second).isSameAs(first);
+        verify(userDetailsService, times(1)).loadUserByUsername("test@test.com");
+    }
+
+    private Claims claims(Date issuedAt) {
+        Claims claims = Jwts.claims().setSubject("test@test.com").setIssuedAt(issuedAt);
+        claims.put(TokenService.CLAIM_USER_ID, 1);
+        claims.put(TokenService.CLAIM_USERNAME, "brido");
+        claims.put(TokenService.CLAIM_ROLES, UserDetailsImpl.DEFAULT_ROLES);
+        return claims;
+    }
+}
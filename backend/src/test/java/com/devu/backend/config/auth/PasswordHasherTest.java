@@ -0,0 +1,72 @@
+package com.devu.backend.config.auth;
+
+import com.devu.backend.common.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    @DisplayName("BCrypt 스레드 풀 - 검증 결과와 낮은 strength 해시 재저장 여부")
+    @Test
+    void matchesAndRehash() {
+        //given
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 1, 10, 5000);
+        String legacy = new BCryptPasswordEncoder(4).encode("hcshcs");
+
+        //when
+        boolean matched = hasher.matches("hcshcs", legacy);
+        String rehashed = hasher.rehash("hcshcs");
+
+        //then
+        assertThat(matched).isTrue();
+        assertThat(hasher.needsRehash(legacy)).isTrue();
+        assertThat(hasher.needsRehash(rehashed)).isFalse();
+        assertThat(hasher.stats().getHashed()).isEqualTo(2);
+        hasher.shutdown();
+    }
+
+    @DisplayName("BCrypt 스레드 풀 - 대기열이 차면 기다리지 않고 바로 거절")
+    @Test
+    void rejectWhenQueueFull() throws Exception {
+        //given
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        PasswordHasher hasher = new PasswordHasher(blocking, 1, 1, 5000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        //when
+        Future<Boolean> running = callers.submit(() -> hasher.matches("a", "b"));
+        Future<Boolean> queued = callers.submit(() -> hasher.matches("a", "b"));
+        while (hasher.stats().getQueued() < 1) {
+            Thread.sleep(5);
+        }
+
+        //then
+        assertThatThrownBy(() -> hasher.matches("a", "b")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(hasher.stats().getRejected()).isEqualTo(1);
+        release.countDown();
+        assertThat(running.get()).isTrue();
+        assertThat(queued.get()).isTrue();
+        callers.shutdown();
+        hasher.shutdown();
+    }
+}
@@ -0,0 +1,25 @@
+package com.devu.backend.config.auth.token;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteClassifierTest {
+
+    private final RouteClassifier routeClassifier = new RouteClassifier();
+
+    @DisplayName("경로 분류 - 정적 파일, 비로그인 GET, 그 외")
+    @Test
+    void classify() {
+        assertThat(routeClassifier.classify(new MockHttpServletRequest("GET", "/static/js/main.js")))
+                .isEqualTo(RouteClassifier.Route.STATIC);
+        assertThat(routeClassifier.classify(new MockHttpServletRequest("GET", "/community/chats/1")))
+                .isEqualTo(RouteClassifier.Route.PUBLIC_READ);
+        assertThat(routeClassifier.classify(new MockHttpServletRequest("POST", "/api/like")))
+                .isEqualTo(RouteClassifier.Route.PROTECTED);
+        assertThat(routeClassifier.classify(new MockHttpServletRequest("GET", "/admin/users")))
+                .isEqualTo(RouteClassifier.Route.PROTECTED);
+    }
+}
@@ -0,0 +1,49 @@
+package com.devu.backend.config.auth.token;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    @DisplayName("검증된 토큰 캐시 - 만료 전까지만 반환")
+    @Test
+    void expireWithToken() {
+        //given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        Claims claims = Jwts.claims().setSubject("test@test.com").setExpiration(new Date(2_000));
+
+        //when
+        cache.put("token", claims, 1_000);
+
+        //then
+        assertThat(cache.get("token", 1_500)).isSameAs(claims);
+        assertThat(cache.get("other", 1_500)).isNull();
+        assertThat(cache.get("token", 2_000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @DisplayName("검증된 토큰 캐시 - 최대 개수를 넘으면 오래된 토큰부터 제거")
+    @Test
+    void evictEldest() {
+        //given
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        Claims claims = Jwts.claims().setSubject("test@test.com").setExpiration(new Date(10_000));
+
+        //when
+        cache.put("a", claims, 0);
+        cache.put("b", claims, 0);
+        cache.get("a", 0);
+        cache.put("c", claims, 0);
+
+        //then
+        assertThat(cache.get("a", 0)).isNotNull();
+        assertThat(cache.get("b", 0)).isNull();
+        assertThat(cache.get("c", 0)).isNotNull();
+    }
+}
@@ -0,0 +1,146 @@
+package com.devu.backend.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private LazyConnectionDataSourceProxy dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readTx;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        new JdbcTemplate(replica).execute("create table replica_lag (seconds bigint)");
+        new JdbcTemplate(replica).update("insert into replica_lag values (0)");
+
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setLagQuery("select seconds from replica_lag");
+        properties.setMaxLagSeconds(5);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), properties);
+        routingDataSource.afterPropertiesSet();
+
+        dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.close();
+    }
+
+    @DisplayName("readOnly 트랜잭션은 복제본, 쓰기 트랜잭션은 primary")
+    @Test
+    void routeByReadOnly() {
+        //when
+        String read = readTx.execute(status -> node());
+        String write = writeTx.execute(status -> node());
+        //then
+        assertThat(read).isEqualTo("replica");
+        assertThat(write).isEqualTo("primary");
+    }
+
+    @DisplayName("복제 지연이 허용치를 넘으면 읽기도 primary, 회복되면 다시 복제본")
+    @Test
+    void fallbackToPrimaryWhenLagging() {
+        //given
+        new JdbcTemplate(replica).update("update replica_lag set seconds = 60");
+        //when
+        routingDataSource.checkReplicas();
+        String lagging = readTx.execute(status -> node());
+        new JdbcTemplate(replica).update("update replica_lag set seconds = 1");
+        routingDataSource.checkReplicas();
+        String recovered = readTx.execute(status -> node());
+        //then
+        assertThat(lagging).isEqualTo("primary");
+        assertThat(recovered).isEqualTo("replica");
+    }
+
+    @DisplayName("open-in-view 처럼 요청 내내 EntityManager 를 유지해도 트랜잭션마다 다시 라우팅")
+    @Test
+    void routePerTransactionWithOpenEntityManager() {
+        //given
+        EntityManagerFactory entityManagerFactory = entityManagerFactory();
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        TransactionTemplate jpaWriteTx = new TransactionTemplate(transactionManager);
+        TransactionTemplate jpaReadTx = new TransactionTemplate(transactionManager);
+        jpaReadTx.setReadOnly(true);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            //when
+            String read = jpaReadTx.execute(status -> node(entityManager));
+            String write = jpaWriteTx.execute(status -> node(entityManager));
+            //then
+            assertThat(read).isEqualTo("replica");
+            assertThat(write).isEqualTo("primary");
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+            entityManagerFactory.close();
+        }
+    }
+
+    //애플리케이션과 같은 Hibernate 연결 반납 설정
+    private EntityManagerFactory entityManagerFactory() {
+        Map<String, Object> properties = new HashMap<>();
+        new DataSourceRoutingConfig().releaseConnectionAfterTransaction().customize(properties);
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(getClass().getPackageName());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+
+    private String node(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("select name from node").getSingleResult();
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private HikariDataSource h2(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPoolName(name);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("drop all objects");
+        template.execute("create table node (name varchar(20))");
+        template.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
@@ -1,23 +1,33 @@
 package com.devu.backend.repository;
 
+import com.devu.backend.config.TestConfig;
 import com.devu.backend.entity.Comment;
 import com.devu.backend.entity.User;
 import com.devu.backend.entity.post.Chat;
+import com.devu.backend.repository.comment.CommentCursor;
 import com.devu.backend.repository.comment.CommentRepository;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(TestConfig.class)
 class CommentRepositoryTest {
 
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private EntityManager em;
+
 
 
     @Test
@@ -81,6 +91,63 @@ class CommentRepositoryTest {
         assertThat(list.get(2)).isEqualTo(comment3);
     }
 
+    @DisplayName("댓글 스레드 커서 페이징 - 원댓글 뒤에 답글, 답글만 따로 페이징")
+    @Test
+    void findByPostIdAndCursor() {
+        //given
+        User user = createUser();
+        Chat chat = createChat(user);
+        Comment first = commentRepository.save(createComment(user, chat));
+        first.updateGroup(first.getId());
+        Comment second = commentRepository.save(createComment(user, chat));
+        second.updateGroup(second.getId());
+        Comment reply = commentRepository.save(Comment.builder()
+                .post(chat)
+                .user(user)
+                .contents("reply")
+                .groupNum(first.getId())
+                .parent(user.getUsername())
+                .build());
+        //when
+        Slice<Comment> page1 = commentRepository.findByPostIdAndCursor(chat.getId(), null, 2);
+        Comment last = page1.getContent().get(1);
+        Slice<Comment> page2 = commentRepository.findByPostIdAndCursor(chat.getId(),
+                CommentCursor.decode(CommentCursor.of(last.getGroupNum(), last.getId()).encode()), 2);
+        Slice<Comment> replies = commentRepository.findRepliesByCursor(first.getId(), null, 10);
+        //then
+        assertThat(page1.getContent()).containsExactly(first, reply);
+        assertThat(page1.hasNext()).isTrue();
+        assertThat(page2.getContent()).containsExactly(second);
+        assertThat(page2.hasNext()).isFalse();
+        assertThat(replies.getContent()).containsExactly(reply);
+    }
+
+    @DisplayName("답글 수 카운터 - 답글이 있으면 원댓글 삭제 안 됨, 보정 시 실제 답글 수로 맞춤")
+    @Test
+    void replyCount() {
+        //given
+        User user = createUser();
+        Chat chat = createChat(user);
+        Comment root = commentRepository.save(createComment(user, chat));
+        root.updateGroup(root.getId());
+        commentRepository.save(Comment.builder()
+                .post(chat)
+                .user(user)
+                .contents("reply")
+                .groupNum(root.getId())
+                .parent(user.getUsername())
+                .build());
+        commentRepository.increaseReplyCount(root.getId());
+        //when
+        int deleted = commentRepository.deleteIfNoReplies(root.getId());
+        commentRepository.increaseReplyCount(root.getId());
+        commentRepository.reconcileReplyCounts(root.getId(), root.getId());
+        em.clear();
+        //then
+        assertThat(deleted).isEqualTo(0);
+        assertThat(commentRepository.findById(root.getId()).get().getReplyCount()).isEqualTo(1L);
+    }
+
     @Test
     void delete() {
         //given
@@ -1,9 +1,13 @@
 package com.devu.backend.repository;
 
+import com.devu.backend.common.ConstraintViolations;
 import com.devu.backend.config.TestConfig;
 import com.devu.backend.entity.*;
 import com.devu.backend.entity.post.*;
 import com.devu.backend.repository.comment.CommentRepository;
+import com.devu.backend.repository.post.PostCounterRow;
+import com.devu.backend.repository.post.PostCursor;
+import com.devu.backend.repository.post.PostListRow;
 import com.devu.backend.repository.post.PostRepository;
 import com.devu.backend.repository.post.PostSearch;
 import org.assertj.core.api.Assertions;
@@ -13,8 +17,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -39,6 +48,12 @@ class PostRepositoryTest {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         User user1 = createUser("brido");
@@ -54,7 +69,7 @@ class PostRepositoryTest {
         createComment(user1, chat1);
         createComment(user1, chat2);
 
-        chat1.plusHit();
+        hitUp(chat1, 1);
 
 
         Tag spring = createTag("SPRING");
@@ -65,7 +80,8 @@ class PostRepositoryTest {
         Study study2 = createStudy(user1);
 
         createLike(user2, study1);
-        createLike(user2, study1);
+        createLike(user1, study1);
+        createLike(user2, study2);
 
 
         PostTag postTag1 = PostTag.builder().post(study1).tag(spring).build();
@@ -135,6 +151,45 @@ class PostRepositoryTest {
         assertThat(chats.get(1).getComments().size()).isGreaterThan(chats.get(2).getLikes().size());
     }
 
+    @DisplayName("커서 페이징 테스트 - 좋아요순")
+    @Test
+    void findChatsByCursorWithLikes() {
+        //given
+        User user = createUser("test");
+        Chat chat = createChat(user);
+        PostSearch postSearch = PostSearch.builder().order("likes").build();
+        //when
+        Slice<Chat> first = postRepository.findChatsByCursor(null, 2, postSearch);
+        Chat last = first.getContent().get(1);
+        PostCursor cursor = PostCursor.decode(
+                PostCursor.ofCount("likes", (long) last.getLikes().size(), last.getId()).encode(), "likes");
+        Slice<Chat> second = postRepository.findChatsByCursor(cursor, 2, postSearch);
+        //then
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getContent().get(0).getLikes().size()).isEqualTo(2);
+        assertThat(last.getLikes().size()).isEqualTo(1);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.getContent()).containsExactly(chat);
+    }
+
+    @DisplayName("커서 페이징 테스트 - 최신순")
+    @Test
+    void findChatsByCursorWithDate() {
+        //given
+        User user = createUser("test");
+        createChat(user);
+        PostSearch postSearch = PostSearch.builder().build();
+        //when
+        Slice<Chat> first = postRepository.findChatsByCursor(null, 1, postSearch);
+        Chat last = first.getContent().get(0);
+        Slice<Chat> rest = postRepository.findChatsByCursor(
+                PostCursor.ofCreateAt(last.getCreateAt(), last.getId()), 10, postSearch);
+        //then
+        assertThat(last.getUser().getUsername()).isEqualTo("test");
+        assertThat(rest.getContent().size()).isEqualTo(2);
+        assertThat(rest.getContent()).doesNotContain(last);
+    }
+
     @DisplayName("검색어 정렬 테스트 - 성공")
     @Test
     void findChatsWithSearchingString() {
@@ -236,6 +291,52 @@ class PostRepositoryTest {
         assertThat(vueStudies.size()).isEqualTo(2);
     }
 
+    @DisplayName("태그 비트맵 교집합 결과로 필터링 - post_tag 조인 없이 id IN")
+    @Test
+    void tagFilteringByPostIds() {
+        //given
+        List<Study> all = postRepository.findAllStudies(PageRequest.of(0, 10),
+                PostSearch.builder()
+                        .tagId(new ArrayList<>())
+                        .build()
+        ).stream().collect(Collectors.toList());
+        Long target = all.get(0).getId();
+        //when
+        List<Study> studies = postRepository.findAllStudies(PageRequest.of(0, 10),
+                PostSearch.builder()
+                        .tagId(new ArrayList<>())
+                        .tagPostIds(List.of(target))
+                        .build()
+        ).stream().collect(Collectors.toList());
+        //then
+        assertThat(studies.size()).isEqualTo(1);
+        assertThat(studies.get(0).getId()).isEqualTo(target);
+    }
+
+    @DisplayName("목록 전체 개수 - 목록과 같은 필터로 COUNT")
+    @Test
+    void countStudies() {
+        //given
+        User user = createUser("test");
+        Study closed = createStudy(user);
+        closed.updateStatus(StudyStatus.CLOSED);
+        closed.getPostTags().add(PostTag.builder().post(closed).tag(tagRepository.findTagByName("VUE").get()).build());
+        Long vueId = tagRepository.findTagByName("VUE").get().getId();
+        //when
+        long all = postRepository.countAllStudies();
+        long active = postRepository.countStudies(PostSearch.builder()
+                .tagId(new ArrayList<>())
+                .studyStatus(StudyStatus.ACTIVE)
+                .build());
+        long vue = postRepository.countStudies(PostSearch.builder()
+                .tagId(List.of(vueId))
+                .build());
+        //then
+        assertThat(all).isEqualTo(3);
+        assertThat(active).isEqualTo(2);
+        assertThat(vue).isEqualTo(2);
+    }
+
     @DisplayName("마이페이지 - 내가쓴 Chat 게시글")
     @Test
     void findAllMyChats() {
@@ -289,6 +390,45 @@ class PostRepositoryTest {
     }
 
 
+    @DisplayName("목록 프로젝션 - 작성자, 태그, 카운트를 한 번에 조회하고 id 순서 유지")
+    @Test
+    void findStudyRows() {
+        //given
+        List<Long> ids = postRepository.findAllStudies(PageRequest.of(0, 10),
+                PostSearch.builder()
+                        .tagId(new ArrayList<>())
+                        .order("likes")
+                        .build()).stream().map(Post::getId).collect(Collectors.toList());
+        //when
+        List<PostListRow> rows = postRepository.findStudyRows(ids);
+        //then
+        assertThat(rows).extracting(PostListRow::getId).containsExactlyElementsOf(ids);
+        assertThat(rows.get(0).getUsername()).isEqualTo("brido");
+        assertThat(rows.get(0).getLikeCount()).isEqualTo(2L);
+        assertThat(rows.get(0).getTags()).containsExactly("SPRING", "REACT");
+        assertThat(rows.get(1).getTags()).containsExactly("C", "VUE");
+    }
+
+    @DisplayName("상세 조회 - 작성자, 태그를 한 번에 fetch join")
+    @Test
+    void findStudyDetailById() {
+        //given
+        Long id = postRepository.findAllStudies(PageRequest.of(0, 10),
+                PostSearch.builder()
+                        .tagId(new ArrayList<>())
+                        .order("likes")
+                        .build()).getContent().get(0).getId();
+        em.clear();
+        //when
+        Study study = postRepository.findStudyDetailById(id).get();
+        //then
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        assertThat(util.isLoaded(study, "user")).isTrue();
+        assertThat(util.isLoaded(study, "postTags")).isTrue();
+        assertThat(study.getPostTags()).extracting(postTag -> postTag.getTag().getName())
+                .containsExactlyInAnyOrder("SPRING", "REACT");
+    }
+
     @DisplayName("마이페이지 - 내가 좋아요한 스터디 게시글 불러오기")
     @Test
     void findAllLikeStudies() {
@@ -342,6 +482,46 @@ class PostRepositoryTest {
 
     }
 
+    @DisplayName("좋아요 토글 - 삭제 후 재삽입, 같은 (user, post) 중복 삽입은 unique 위반")
+    @Test
+    void toggleLike() {
+        //given
+        User user = createUser("test");
+        Chat chat = createChat(user);
+        //when
+        int inserted = likeRepository.insertLike(user.getId(), chat.getId());
+        int deleted = likeRepository.deleteByUserIdAndPostId(user.getId(), chat.getId());
+        int deletedAgain = likeRepository.deleteByUserIdAndPostId(user.getId(), chat.getId());
+        likeRepository.insertLike(user.getId(), chat.getId());
+        //then
+        assertThat(inserted).isEqualTo(1);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(deletedAgain).isEqualTo(0);
+        Assertions.assertThatThrownBy(() -> likeRepository.insertLike(user.getId(), chat.getId()))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .matches(e -> ConstraintViolations.violates(e, Like.UNIQUE_USER_POST));
+        //없는 사용자 => FK 위반은 중복 클릭으로 보지 않음
+        Assertions.assertThatThrownBy(() -> likeRepository.insertLike(-1L, chat.getId()))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .matches(e -> !ConstraintViolations.violates(e, Like.UNIQUE_USER_POST));
+    }
+
+    @DisplayName("카운터 일괄 조회 - 조회수, 좋아요, 댓글 수를 한 번에 조회")
+    @Test
+    void findCountersByIdIn() {
+        //given
+        List<Long> ids = postRepository.findTop3ChatByOrderByLikes().get().stream()
+                .map(Post::getId).collect(Collectors.toList());
+        //when
+        List<PostCounterRow> rows = postRepository.findCountersByIdIn(ids);
+        //then
+        assertThat(rows).extracting(PostCounterRow::getPostId).containsExactlyInAnyOrderElementsOf(ids);
+        PostCounterRow top = rows.stream().filter(row -> row.getPostId().equals(ids.get(0))).findFirst().get();
+        assertThat(top.getHit()).isEqualTo(1L);
+        assertThat(top.getLikeCount()).isEqualTo(2L);
+        assertThat(top.getCommentCount()).isEqualTo(2L);
+    }
+
     private Tag createTag(String name) {
         Tag tag = Tag.builder()
                 .name(name)
@@ -356,6 +536,7 @@ class PostRepositoryTest {
                 .build();
         likeRepository.save(like);
         like.changePost(post);
+        postRepository.increaseLikeCount(post.getId());
         return like;
     }
 
@@ -366,6 +547,7 @@ class PostRepositoryTest {
                 .contents("test").build();
         commentRepository.save(comment);
         comment.changePost(post);
+        postRepository.increaseCommentCount(post.getId());
         return comment;
     }
 
@@ -421,10 +603,11 @@ class PostRepositoryTest {
         return user;
     }
 
+    //조회수는 HitCountBuffer 가 jdbc 배치로 반영 => 테스트도 hit_count 를 직접 update
     private void hitUp(Post post,int num) {
-        for (int i = 0; i < num; i++) {
-            post.plusHit();
-        }
+        em.flush();
+        jdbcTemplate.update("update post set hit_count = hit_count + ? where post_id = ?", num, post.getId());
+        em.clear();
     }
 
 }
\ No newline at end of file
@@ -1,12 +1,20 @@
 package com.devu.backend.repository;
 
+import com.devu.backend.config.TestConfig;
+import com.devu.backend.entity.Tag;
 import com.devu.backend.repository.post.PostRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(TestConfig.class)
 class TagRepositoryTest {
     @Autowired
     private TagRepository tagRepository;
@@ -16,4 +24,17 @@ class TagRepositoryTest {
 
     @Autowired
     private UserRepository userRepository;
-}
\ No newline at end of file
+
+    @DisplayName("태그 이름 IN 잠금 조회")
+    @Test
+    void findAllByNameInForShare() {
+        //given
+        tagRepository.save(Tag.builder().name("SPRING").build());
+        tagRepository.save(Tag.builder().name("VUE").build());
+        tagRepository.save(Tag.builder().name("REACT").build());
+        //when
+        List<Tag> tags = tagRepository.findAllByNameInForShare(List.of("SPRING", "VUE", "JAVA"));
+        //then
+        assertThat(tags).extracting(Tag::getName).containsExactlyInAnyOrder("SPRING", "VUE");
+    }
+}
@@ -1,19 +1,28 @@
 package com.devu.backend.repository;
 
+import com.devu.backend.config.HibernateCacheConfig;
 import com.devu.backend.config.TestConfig;
 import com.devu.backend.entity.User;
 import com.devu.backend.entity.post.Chat;
 import com.devu.backend.repository.post.PostRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@Import(TestConfig.class)
+@Import({TestConfig.class, HibernateCacheConfig.class})
 @DataJpaTest
 class UserRepositoryTest {
 
@@ -23,6 +32,40 @@ class UserRepositoryTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DisplayName("2차 캐시 - username 조회는 쿼리 캐시에서, 이름 변경 시 무효화")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findByUsernameWithQueryCache() {
+        //given
+        User user = userRepository.save(User.builder()
+                .username("cached")
+                .email("cached@test.com")
+                .password("hcshcs")
+                .build());
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        try {
+            //when
+            userRepository.findByUsername("cached");
+            userRepository.findByUsername("cached");
+            long queryCacheHits = statistics.getQueryCacheHitCount();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    userRepository.findById(user.getId()).get().changeUsername("renamed"));
+            //then
+            assertThat(queryCacheHits).isEqualTo(1);
+            assertThat(userRepository.findByUsername("cached")).isEmpty();
+            assertThat(userRepository.findByUsername("renamed")).isPresent();
+        } finally {
+            userRepository.deleteById(user.getId());
+        }
+    }
+
     @Test
     public void user등록() {
         //given
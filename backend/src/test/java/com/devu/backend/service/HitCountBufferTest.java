@@ -0,0 +1,123 @@
+package com.devu.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HitCountBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private HitCountBuffer hitCountBuffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        hitCountBuffer = new HitCountBuffer(jdbcTemplate, new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)), new ContentVersions());
+    }
+
+    @DisplayName("동시 조회수 증가 - 유실 없이 누적 후 한 번의 배치로 반영")
+    @Test
+    @SuppressWarnings("unchecked")
+    void concurrentIncrementAndFlush() throws InterruptedException {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> hitCountBuffer.increment(1L));
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        //when
+        long before = hitCountBuffer.current(1L, 10L);
+        hitCountBuffer.flush();
+        //then
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertThat(before).isEqualTo(1010L);
+        assertThat(captor.getValue().get(0)).containsExactly(1000L, 1L);
+        assertThat(hitCountBuffer.pending(1L)).isZero();
+    }
+
+    @DisplayName("반영 실패 시 누적분 유지")
+    @Test
+    void flushFailure() {
+        //given
+        hitCountBuffer.increment(1L);
+        hitCountBuffer.increment(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        //when
+        hitCountBuffer.flush();
+        //then
+        assertThat(hitCountBuffer.pending(1L)).isEqualTo(2L);
+    }
+
+    @DisplayName("조회와 flush 가 동시에 일어나도 반영분 + 누적분 = 전체 조회수")
+    @Test
+    @SuppressWarnings("unchecked")
+    void incrementDuringFlush() throws InterruptedException {
+        //given
+        List<Long> flushed = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(args -> flushed.add((Long) args[0]));
+            return new int[batch.size()];
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        //when
+        for (int i = 0; i < 20000; i++) {
+            executor.submit(() -> hitCountBuffer.increment(1L));
+            if (i % 500 == 0) {
+                hitCountBuffer.flush();
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        //then
+        assertThat(flushed.stream().mapToLong(Long::longValue).sum() + hitCountBuffer.pending(1L)).isEqualTo(20000L);
+    }
+
+    @DisplayName("DB 조회수를 읽는 사이 flush 되어도 조회수가 줄어들지 않음")
+    @Test
+    void currentDuringFlush() {
+        //given
+        AtomicLong persisted = new AtomicLong(10L);
+        hitCountBuffer.increment(1L);
+        hitCountBuffer.increment(1L);
+        hitCountBuffer.increment(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            persisted.addAndGet(3L);
+            return new int[1];
+        });
+        AtomicBoolean first = new AtomicBoolean(true);
+        //when (반영 전 DB 값을 읽은 직후 flush)
+        long hit = hitCountBuffer.current(1L, () -> {
+            long read = persisted.get();
+            if (first.getAndSet(false)) {
+                hitCountBuffer.flush();
+            }
+            return read;
+        });
+        //then
+        assertThat(hit).isEqualTo(13L);
+    }
+}
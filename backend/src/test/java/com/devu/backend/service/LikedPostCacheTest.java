@@ -0,0 +1,63 @@
+package com.devu.backend.service;
+
+import com.devu.backend.config.datasource.PrimaryReader;
+import com.devu.backend.repository.LikeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikedPostCacheTest {
+
+    private LikeRepository likeRepository;
+    private LikedPostCache likedPostCache;
+
+    @BeforeEach
+    void setUp() {
+        likeRepository = Mockito.mock(LikeRepository.class);
+        likedPostCache = new LikedPostCache(likeRepository, new PrimaryReader(Mockito.mock(PlatformTransactionManager.class), false), 1);
+    }
+
+    @DisplayName("좋아요 비트맵 - 처음 한 번만 DB 에서 읽고 이후 토글은 비트맵에 반영")
+    @Test
+    void loadOnceAndUpdate() {
+        //given
+        when(likeRepository.findPostIdsByUserId(1L)).thenReturn(List.of(10L, 20L));
+
+        //when
+        boolean before = likedPostCache.contains(1L, 30L);
+        likedPostCache.update(1L, 30L, true);
+        likedPostCache.update(1L, 10L, false);
+
+        //then
+        assertThat(before).isFalse();
+        assertThat(likedPostCache.likedAmong(1L, List.of(10L, 20L, 30L, 40L))).containsExactlyInAnyOrder(20L, 30L);
+        assertThat(likedPostCache.postIds(1L)).containsExactly(30L, 20L);
+        verify(likeRepository, times(1)).findPostIdsByUserId(1L);
+    }
+
+    @DisplayName("좋아요 비트맵 - 최대 사용자 수를 넘으면 오래된 사용자부터 제거")
+    @Test
+    void evictEldestUser() {
+        //given
+        when(likeRepository.findPostIdsByUserId(1L)).thenReturn(List.of(10L));
+        when(likeRepository.findPostIdsByUserId(2L)).thenReturn(List.of(20L));
+
+        //when
+        likedPostCache.contains(1L, 10L);
+        likedPostCache.contains(2L, 20L);
+        boolean reloaded = likedPostCache.contains(1L, 10L);
+
+        //then
+        assertThat(reloaded).isTrue();
+        verify(likeRepository, times(2)).findPostIdsByUserId(1L);
+    }
+}
@@ -0,0 +1,59 @@
+package com.devu.backend.service;
+
+import com.devu.backend.controller.post.PostResponseDto;
+import com.devu.backend.entity.post.PostType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostDetailCacheTest {
+
+    @DisplayName("상세 캐시 - 같은 버전이면 재사용, 버전 증가 후에는 다시 로딩")
+    @Test
+    void reloadAfterBump() {
+        //given
+        PostDetailCache cache = new PostDetailCache(1024 * 1024, new ContentVersions());
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        cache.getOrLoad(PostType.STUDY, 1L, () -> response(1L, "v" + loads.incrementAndGet()));
+        PostResponseDto cached = cache.getOrLoad(PostType.STUDY, 1L, () -> response(1L, "v" + loads.incrementAndGet()));
+        cache.bump(1L);
+        PostResponseDto reloaded = cache.getOrLoad(PostType.STUDY, 1L, () -> response(1L, "v" + loads.incrementAndGet()));
+
+        //then
+        assertThat(cached.getTitle()).isEqualTo("v1");
+        assertThat(reloaded.getTitle()).isEqualTo("v2");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @DisplayName("상세 캐시 - 로딩 중에 버전이 바뀌면 저장된 응답을 쓰지 않음")
+    @Test
+    void staleLoadIsNotServed() {
+        //given
+        PostDetailCache cache = new PostDetailCache(1024 * 1024, new ContentVersions());
+
+        //when
+        cache.getOrLoad(PostType.CHAT, 1L, () -> {
+            cache.bump(1L);
+            return response(1L, "stale");
+        });
+        PostResponseDto result = cache.getOrLoad(PostType.CHAT, 1L, () -> response(1L, "fresh"));
+
+        //then
+        assertThat(result.getTitle()).isEqualTo("fresh");
+    }
+
+    private PostResponseDto response(Long id, String title) {
+        return PostResponseDto.builder()
+                .id(id)
+                .title(title)
+                .content("content")
+                .username("user")
+                .hit(0L)
+                .build();
+    }
+}
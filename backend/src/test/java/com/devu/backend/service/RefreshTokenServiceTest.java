@@ -0,0 +1,86 @@
+package com.devu.backend.service;
+
+import com.devu.backend.config.auth.UserRoles;
+import com.devu.backend.config.auth.token.RefreshToken;
+import com.devu.backend.config.auth.token.TokenDigest;
+import com.devu.backend.config.auth.token.TokenService;
+import com.devu.backend.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private TokenService tokenService;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = Mockito.mock(RefreshTokenRepository.class);
+        tokenService = new TokenService(new UserRoles(List.of()));
+        ReflectionTestUtils.setField(tokenService, "tokenCacheMaxEntries", 100);
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenService, 100);
+    }
+
+    @DisplayName("refresh token 저장 - 원문 대신 digest 와 만료 시각 저장")
+    @Test
+    void saveDigest() {
+        //given
+        String token = tokenService.createRefreshToken("test@test.com");
+
+        //when
+        refreshTokenService.save(token);
+
+        //then
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getTokenDigest()).isEqualTo(TokenDigest.of(token)).hasSize(TokenDigest.LENGTH);
+        assertThat(captor.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusDays(13));
+    }
+
+    @DisplayName("로그아웃한 refresh token - DB 조회 없이 거절")
+    @Test
+    void revokedTokenSkipsDb() {
+        //given
+        String token = tokenService.createRefreshToken("test@test.com");
+
+        //when
+        refreshTokenService.revoke(token);
+        boolean active = refreshTokenService.isActive(token);
+
+        //then
+        assertThat(active).isFalse();
+        verify(refreshTokenRepository).deleteByTokenDigest(TokenDigest.of(token));
+        verify(refreshTokenRepository, never()).existsByTokenDigestAndExpiresAtAfter(anyString(), any());
+    }
+
+    @DisplayName("DB 에 없는 refresh token - 한 번만 조회하고 이후 메모리에서 거절")
+    @Test
+    void unknownTokenIsRemembered() {
+        //given
+        String token = tokenService.createRefreshToken("test@test.com");
+        when(refreshTokenRepository.existsByTokenDigestAndExpiresAtAfter(anyString(), any())).thenReturn(false);
+
+        //when
+        boolean first = refreshTokenService.isActive(token);
+        boolean second = refreshTokenService.isActive(token);
+
+        //then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        verify(refreshTokenRepository, times(1)).existsByTokenDigestAndExpiresAtAfter(anyString(), any());
+    }
+}
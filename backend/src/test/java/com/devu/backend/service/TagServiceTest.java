@@ -0,0 +1,76 @@
+package com.devu.backend.service;
+
+import com.devu.backend.config.datasource.PrimaryReader;
+import com.devu.backend.entity.PostTag;
+import com.devu.backend.entity.Tag;
+import com.devu.backend.repository.TagRepository;
+import com.devu.backend.repository.post.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TagServiceTest {
+
+    private TagRepository tagRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TagService tagService;
+
+    @BeforeEach
+    void setUp() {
+        tagRepository = Mockito.mock(TagRepository.class);
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        tagService = new TagService(tagRepository, Mockito.mock(PostRepository.class), jdbcTemplate,
+                new PrimaryReader(Mockito.mock(PlatformTransactionManager.class), false));
+        when(tagRepository.findAll()).thenReturn(List.of(
+                Tag.builder().id(1L).name("SPRING").build(),
+                Tag.builder().id(2L).name("REACT").build()));
+        tagService.loadDictionary();
+    }
+
+    @DisplayName("태그 사전 - 이름,id 변환 시 DB 조회 없음")
+    @Test
+    void dictionary() {
+        //given
+        PostTag postTag = PostTag.builder().tag(Tag.builder().id(2L).build()).build();
+        //when
+        Long id = tagService.findTagIdByString("SPRING");
+        String name = tagService.findTagName(postTag);
+        //then
+        assertThat(id).isEqualTo(1L);
+        assertThat(name).isEqualTo("REACT");
+        verify(tagRepository, never()).findTagByName(anyString());
+        verify(tagRepository, never()).findById(any());
+    }
+
+    @DisplayName("태그 upsert - 이름 IN 조회 후 없는 태그만 한 번의 배치로 생성")
+    @Test
+    @SuppressWarnings("unchecked")
+    void findTags() {
+        //given
+        Tag spring = Tag.builder().id(1L).name("SPRING").build();
+        Tag vue = Tag.builder().id(3L).name("VUE").build();
+        when(tagRepository.findAllByNameIn(List.of("SPRING", "VUE"))).thenReturn(List.of(spring));
+        when(tagRepository.findAllByNameInForShare(List.of("VUE"))).thenReturn(List.of(vue));
+        //when
+        List<Tag> tags = tagService.findTags(List.of("SPRING", "VUE", "SPRING"));
+        //then
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        assertThat(tags).extracting(Tag::getName).containsExactly("SPRING", "VUE");
+        verify(tagRepository, never()).save(any());
+    }
+}
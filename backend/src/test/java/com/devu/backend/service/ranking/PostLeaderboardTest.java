@@ -0,0 +1,143 @@
+package com.devu.backend.service.ranking;
+
+import com.devu.backend.config.datasource.PrimaryReader;
+import com.devu.backend.entity.post.PostType;
+import com.devu.backend.repository.post.PostRepository;
+import com.devu.backend.repository.post.PostScoreView;
+import com.devu.backend.service.ContentVersions;
+import com.devu.backend.service.HitCountBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class PostLeaderboardTest {
+
+    private PostRepository postRepository;
+    private PostLeaderboard postLeaderboard;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = Mockito.mock(PostRepository.class);
+        postLeaderboard = leaderboard(50, 0);
+        LocalDateTime now = LocalDateTime.now();
+        postLeaderboard.add(PostType.CHAT, 1L, now.minusDays(30));
+        postLeaderboard.add(PostType.CHAT, 2L, now.minusDays(3));
+        postLeaderboard.add(PostType.CHAT, 3L, now);
+        postLeaderboard.add(PostType.STUDY, 4L, now);
+    }
+
+    @DisplayName("조회수,좋아요 증감이 바로 순위에 반영")
+    @Test
+    void incrementalRanking() {
+        //given
+        hit(1L, 5);
+        hit(2L, 3);
+        hit(3L, 1);
+        postLeaderboard.like(3L, 2L);
+        postLeaderboard.like(2L, 1L);
+        postLeaderboard.like(3L, -1L);
+        //when
+        List<Long> byHits = postLeaderboard.top(PostType.CHAT, RankingMetric.HIT, 3, RankingWindow.ALL);
+        List<Long> byLikes = postLeaderboard.top(PostType.CHAT, RankingMetric.LIKES, 2, RankingWindow.ALL);
+        //then
+        assertThat(byHits).containsExactly(1L, 2L, 3L);
+        assertThat(byLikes).containsExactly(3L, 2L);
+    }
+
+    @DisplayName("기간 필터 - 작성일 기준 오늘,이번 주 글만")
+    @Test
+    void window() {
+        //given
+        hit(1L, 5);
+        hit(2L, 3);
+        postLeaderboard.remove(3L);
+        //when
+        List<Long> week = postLeaderboard.top(PostType.CHAT, RankingMetric.HIT, 3, RankingWindow.WEEK);
+        List<Long> today = postLeaderboard.top(PostType.CHAT, RankingMetric.HIT, 3, RankingWindow.TODAY);
+        //then
+        assertThat(week).containsExactly(2L);
+        assertThat(today).isEmpty();
+    }
+
+    @DisplayName("재구성 중 들어온 좋아요,조회,삭제도 새 랭킹에 반영")
+    @Test
+    void updatesDuringRebuild() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+        when(postRepository.findChatScores()).thenAnswer(invocation -> {
+            //DB 를 읽는 동안 들어온 변경
+            postLeaderboard.like(1L, 1L);
+            postLeaderboard.remove(2L);
+            return List.of(score(1L, now, 10L, 5L), score(2L, now, 20L, 0L), score(3L, now, 30L, 0L));
+        });
+        when(postRepository.findStudyScores()).thenAnswer(invocation -> {
+            //이미 넣은 게시글
+            postLeaderboard.hit(3L);
+            return List.of();
+        });
+        when(postRepository.findQuestionScores()).thenReturn(List.of());
+        //when
+        postLeaderboard.rebuild();
+        //then
+        assertThat(postLeaderboard.score(1L, RankingMetric.LIKES)).isEqualTo(6L);
+        assertThat(postLeaderboard.contains(2L)).isFalse();
+        assertThat(postLeaderboard.score(3L, RankingMetric.HIT)).isEqualTo(31L);
+        assertThat(postLeaderboard.top(PostType.CHAT, RankingMetric.HIT, 3, RankingWindow.TODAY)).containsExactly(3L, 1L);
+    }
+
+    @DisplayName("후보는 상위 max-k + margin 개만, 밀려난 글은 현재 점수로 offer 하면 다시 들어옴")
+    @Test
+    void boundedCandidates() {
+        //given
+        PostLeaderboard bounded = leaderboard(1, 1);
+        LocalDateTime old = LocalDateTime.now().minusDays(30);
+        bounded.add(PostType.CHAT, 1L, old);
+        bounded.add(PostType.CHAT, 2L, old);
+        bounded.add(PostType.CHAT, 3L, old);
+        //when
+        bounded.hit(1L);
+        bounded.offer(PostType.CHAT, 1L, old, 10L, 1L);
+        bounded.hit(1L);
+        //then
+        assertThat(bounded.top(PostType.CHAT, RankingMetric.HIT, 2, RankingWindow.ALL)).containsExactly(1L);
+        assertThat(bounded.score(1L, RankingMetric.HIT)).isEqualTo(11L);
+        assertThat(bounded.contains(2L)).isFalse();
+        assertThat(bounded.contains(3L)).isTrue();
+    }
+
+    private PostLeaderboard leaderboard(int maxK, int margin) {
+        HitCountBuffer hitCountBuffer = new HitCountBuffer(Mockito.mock(JdbcTemplate.class),
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)), new ContentVersions());
+        PrimaryReader primaryReader = new PrimaryReader(Mockito.mock(PlatformTransactionManager.class), false);
+        PostLeaderboard leaderboard = new PostLeaderboard(postRepository, hitCountBuffer, primaryReader);
+        ReflectionTestUtils.setField(leaderboard, "maxK", maxK);
+        ReflectionTestUtils.setField(leaderboard, "margin", margin);
+        return leaderboard;
+    }
+
+    private PostScoreView score(Long id, LocalDateTime createAt, Long hit, Long likeCount) {
+        PostScoreView view = Mockito.mock(PostScoreView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getCreateAt()).thenReturn(createAt);
+        when(view.getHit()).thenReturn(hit);
+        when(view.getLikeCount()).thenReturn(likeCount);
+        return view;
+    }
+
+    private void hit(Long postId, int count) {
+        for (int i = 0; i < count; i++) {
+            postLeaderboard.hit(postId);
+        }
+    }
+}
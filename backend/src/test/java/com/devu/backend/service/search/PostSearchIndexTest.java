@@ -0,0 +1,113 @@
+package com.devu.backend.service.search;
+
+import com.devu.backend.entity.post.Chat;
+import com.devu.backend.entity.post.Post;
+import com.devu.backend.entity.post.PostType;
+import com.devu.backend.entity.post.Study;
+import com.devu.backend.repository.post.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postSearchIndex = new PostSearchIndex(Mockito.mock(PostRepository.class));
+        ReflectionTestUtils.setField(postSearchIndex, "maxResults", 100);
+    }
+
+    @DisplayName("한글 부분 검색 - 제목에 포함된 글이 본문에만 포함된 글보다 우선")
+    @Test
+    void searchRankByTitle() {
+        //given
+        postSearchIndex.index(createChat(1L, "스프링 입문", "자바 기초"));
+        postSearchIndex.index(createChat(2L, "자바 질문", "스프링 부트 설정이 안돼요"));
+        postSearchIndex.index(createChat(3L, "리액트 훅", "useEffect"));
+        //when
+        List<Long> result = postSearchIndex.search(PostType.CHAT, "스프링").getPostIds();
+        //then
+        assertThat(result).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("게시판 타입이 다른 글은 검색되지 않음")
+    @Test
+    void searchByType() {
+        //given
+        postSearchIndex.index(createChat(1L, "Spring Study", "content"));
+        postSearchIndex.index(Study.builder().id(2L).title("Spring Study").content("content").build());
+        //when
+        List<Long> result = postSearchIndex.search(PostType.STUDY, "spring").getPostIds();
+        //then
+        assertThat(result).containsExactly(2L);
+    }
+
+    @DisplayName("수정, 삭제 시 색인 갱신")
+    @Test
+    void updateAndRemove() {
+        //given
+        postSearchIndex.index(createChat(1L, "스프링", "본문"));
+        //when
+        postSearchIndex.index(createChat(1L, "리액트", "본문"));
+        //then
+        assertThat(postSearchIndex.search(PostType.CHAT, "스프링").getPostIds()).isEmpty();
+        assertThat(postSearchIndex.search(PostType.CHAT, "리액트").getPostIds()).containsExactly(1L);
+
+        postSearchIndex.remove(1L);
+        assertThat(postSearchIndex.search(PostType.CHAT, "리액트").getPostIds()).isEmpty();
+    }
+
+    @DisplayName("max-results 보다 많이 찾으면 상위만 돌려주고 잘렸다고 알림")
+    @Test
+    void searchTruncated() {
+        //given
+        ReflectionTestUtils.setField(postSearchIndex, "maxResults", 2);
+        for (long id = 1; id <= 3; id++) {
+            postSearchIndex.index(createChat(id, "스프링", "본문"));
+        }
+        //when
+        SearchResult result = postSearchIndex.search(PostType.CHAT, "스프링");
+        //then
+        assertThat(result.getPostIds()).containsExactly(3L, 2L);
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(result.isTruncated()).isTrue();
+    }
+
+    @DisplayName("rebuild 중 수정, 삭제된 글은 DB 에서 먼저 읽은 값으로 덮지 않음")
+    @Test
+    void updatesDuringRebuild() {
+        //given
+        PostRepository postRepository = Mockito.mock(PostRepository.class);
+        PostSearchIndex index = new PostSearchIndex(postRepository);
+        ReflectionTestUtils.setField(index, "maxResults", 100);
+        Mockito.when(postRepository.findAllBy(Mockito.any(Pageable.class))).thenAnswer(invocation -> {
+            //DB 를 읽은 직후 1번 수정, 2번 삭제 커밋
+            index.index(createChat(1L, "리액트", "본문"));
+            index.remove(2L);
+            return new SliceImpl<Post>(List.of(createChat(1L, "스프링", "본문"), createChat(2L, "스프링", "본문")));
+        });
+        //when
+        index.rebuild();
+        //then
+        assertThat(index.search(PostType.CHAT, "스프링").getPostIds()).isEmpty();
+        assertThat(index.search(PostType.CHAT, "리액트").getPostIds()).containsExactly(1L);
+    }
+
+    private Chat createChat(Long id, String title, String content) {
+        return Chat.builder()
+                .id(id)
+                .title(title)
+                .content(content)
+                .build();
+    }
+}
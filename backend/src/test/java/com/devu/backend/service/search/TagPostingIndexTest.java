@@ -0,0 +1,80 @@
+package com.devu.backend.service.search;
+
+import com.devu.backend.config.datasource.PrimaryReader;
+import com.devu.backend.repository.PostTagPair;
+import com.devu.backend.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class TagPostingIndexTest {
+
+    private TagRepository tagRepository;
+    private TagPostingIndex tagPostingIndex;
+
+    @BeforeEach
+    void setUp() {
+        tagRepository = Mockito.mock(TagRepository.class);
+        tagPostingIndex = new TagPostingIndex(tagRepository, new PrimaryReader(Mockito.mock(PlatformTransactionManager.class), false));
+        tagPostingIndex.index(1L, List.of(10L, 20L));
+        tagPostingIndex.index(2L, List.of(10L));
+        tagPostingIndex.index(3L, List.of(10L, 20L, 30L));
+    }
+
+    @DisplayName("다중 태그 AND - 모든 태그를 가진 게시글만")
+    @Test
+    void intersect() {
+        //given
+        //when
+        Roaring64NavigableMap result = tagPostingIndex.intersect(List.of(10L, 20L));
+        //then
+        assertThat(result.toArray()).containsExactly(1L, 3L);
+    }
+
+    @DisplayName("게시글 태그 수정,삭제 시 이전 태그에서 제거")
+    @Test
+    void reindexAndRemove() {
+        //given
+        tagPostingIndex.index(1L, List.of(30L));
+        tagPostingIndex.remove(3L);
+        //when
+        Roaring64NavigableMap withTwenty = tagPostingIndex.intersect(List.of(20L));
+        Roaring64NavigableMap withThirty = tagPostingIndex.intersect(List.of(30L));
+        //then
+        assertThat(withTwenty.isEmpty()).isTrue();
+        assertThat(withThirty.toArray()).containsExactly(1L);
+    }
+
+    @DisplayName("rebuild 중 index,remove 된 게시글은 DB 에서 먼저 읽은 값으로 덮지 않음")
+    @Test
+    void updatesDuringRebuild() {
+        //given
+        when(tagRepository.findAllPostTagPairs()).thenAnswer(invocation -> {
+            //DB 를 읽은 직후 4번 생성, 1번 태그 수정, 2번 삭제 커밋
+            tagPostingIndex.index(4L, List.of(10L));
+            tagPostingIndex.index(1L, List.of(30L));
+            tagPostingIndex.remove(2L);
+            return List.of(pair(1L, 10L), pair(2L, 10L), pair(3L, 10L));
+        });
+        //when
+        tagPostingIndex.rebuild();
+        //then
+        assertThat(tagPostingIndex.intersect(List.of(10L)).toArray()).containsExactly(3L, 4L);
+        assertThat(tagPostingIndex.intersect(List.of(30L)).toArray()).containsExactly(1L);
+    }
+
+    private PostTagPair pair(Long postId, Long tagId) {
+        PostTagPair pair = Mockito.mock(PostTagPair.class);
+        when(pair.getPostId()).thenReturn(postId);
+        when(pair.getTagId()).thenReturn(tagId);
+        return pair;
+    }
+}